@@ -25,9 +25,12 @@
  */
 package com.devoxx.model;
 
+import javafx.beans.Observable;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -93,6 +96,16 @@ public class Badge extends Searchable {
 
     }
 
+    @Override
+    public List<?> searchValues() {
+        return Arrays.asList(getFirstName(), getLastName(), getCompany(), getEmail(), getDetails());
+    }
+
+    @Override
+    public Observable[] searchDependencies() {
+        return new Observable[] {firstName, lastName, company, email, details};
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
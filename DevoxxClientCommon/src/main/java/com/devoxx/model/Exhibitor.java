@@ -25,6 +25,8 @@
  */
 package com.devoxx.model;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -100,6 +102,17 @@ public class Exhibitor extends Searchable implements Mergeable<Exhibitor> {
 
     }
 
+    @Override
+    public List<?> searchValues() {
+        return Arrays.asList(getBooth(), getDescription(), getLocation(), getName(), getSummary());
+    }
+
+    @Override
+    public boolean isFuzzySearchValue(int valueIndex) {
+        // the name
+        return valueIndex == 3;
+    }
+
     @Override
     public boolean merge(Exhibitor other) {
         boolean changed = false;
@@ -25,6 +25,8 @@
  */
 package com.devoxx.model;
 
+import java.util.Objects;
+
 public class Link {
     private String href;
     private String rel;
@@ -62,6 +64,21 @@ public class Link {
         this.title = title;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Link link = (Link) o;
+        return Objects.equals(href, link.href) &&
+                Objects.equals(rel, link.rel) &&
+                Objects.equals(title, link.title);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(href, rel, title);
+    }
+
     @Override
     public String toString() {
         return "Link{" +
@@ -25,9 +25,12 @@
  */
 package com.devoxx.model;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
+import javafx.beans.Observable;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
@@ -67,5 +70,15 @@ public class Note extends Searchable {
         }
         return containsKeyword(getContent(), keyword.toLowerCase(Locale.ROOT));
     }
+
+    @Override
+    public List<?> searchValues() {
+        return Collections.singletonList(getContent());
+    }
+
+    @Override
+    public Observable[] searchDependencies() {
+        return new Observable[] {content};
+    }
     
 }
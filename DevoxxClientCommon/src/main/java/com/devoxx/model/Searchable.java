@@ -25,12 +25,45 @@
  */
 package com.devoxx.model;
 
+import javafx.beans.Observable;
+
+import java.util.List;
 import java.util.Locale;
 
 public abstract class Searchable {
     
     public abstract boolean contains(String keyword);
 
+    /**
+     * Returns the values that {@link #contains(String)} searches, to build the search index.
+     */
+    public abstract List<?> searchValues();
+
+    /**
+     * Returns the relevance weight of the value at the given position of {@link #searchValues()},
+     * so search results that match in a more important value rank first.
+     */
+    public double searchWeight(int valueIndex) {
+        return 1;
+    }
+
+    /**
+     * Returns true if the value at the given position of {@link #searchValues()} is a name, that
+     * searches should also find when it is typed slightly wrong.
+     */
+    public boolean isFuzzySearchValue(int valueIndex) {
+        return false;
+    }
+
+    /**
+     * Returns the observables of the values that can change while the item is in a list, so
+     * the search index can be updated. Values that only change by replacing the item in its
+     * list don't need to be returned.
+     */
+    public Observable[] searchDependencies() {
+        return new Observable[0];
+    }
+
     // assumes keyword != null and already a lower case
     static <T> boolean containsKeyword( final T source, final String keyword ) {
         return source != null && source.toString().toLowerCase(Locale.ROOT).contains(keyword);
@@ -25,11 +25,20 @@
  */
 package com.devoxx.model;
 
+import javafx.beans.Observable;
+
 import javax.xml.bind.annotation.XmlTransient;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public class Session extends Searchable implements Mergeable<Session> {
 
-public class Session extends Searchable {
+    // title, tags, track, speaker names, summary and room
+    private static final double[] SEARCH_WEIGHTS = {3, 2, 1.5, 2, 1, 1};
 
     private String slotId;
     private String roomId;
@@ -41,6 +50,7 @@ public class Session extends Searchable {
     private String toTime;
     private long toTimeMillis;
     private ZonedDateTime endDate;
+    private int dayIndex;
     private Break aBreak;
     private Talk talk;
     private boolean decorated;
@@ -143,6 +153,19 @@ public class Session extends Searchable {
         this.endDate = endDate;
     }
 
+    /**
+     * Returns the 1-based day of the conference on which this session starts, or 0 if the
+     * session times have not been normalized.
+     */
+    @XmlTransient
+    public int getDayIndex() {
+        return dayIndex;
+    }
+
+    public void setDayIndex(int dayIndex) {
+        this.dayIndex = dayIndex;
+    }
+
     public Break getaBreak() {
         return aBreak;
     }
@@ -175,14 +198,119 @@ public class Session extends Searchable {
         this.showSessionType = showSessionType;
     }
 
+    @Override
+    public boolean merge(Session other) {
+        boolean changed = false;
+        if (!Objects.equals(other.slotId, this.slotId)) {
+            changed = true;
+            this.slotId = other.slotId;
+        }
+        if (!Objects.equals(other.roomId, this.roomId)) {
+            changed = true;
+            this.roomId = other.roomId;
+        }
+        if (!Objects.equals(other.roomName, this.roomName)) {
+            changed = true;
+            this.roomName = other.roomName;
+        }
+        if (!Objects.equals(other.day, this.day)) {
+            changed = true;
+            this.day = other.day;
+        }
+        if (!Objects.equals(other.fromTime, this.fromTime)) {
+            changed = true;
+            this.fromTime = other.fromTime;
+        }
+        if (other.fromTimeMillis != this.fromTimeMillis) {
+            changed = true;
+            this.fromTimeMillis = other.fromTimeMillis;
+            this.startDate = other.startDate;
+            this.dayIndex = other.dayIndex;
+        }
+        if (!Objects.equals(other.toTime, this.toTime)) {
+            changed = true;
+            this.toTime = other.toTime;
+        }
+        if (other.toTimeMillis != this.toTimeMillis) {
+            changed = true;
+            this.toTimeMillis = other.toTimeMillis;
+            this.endDate = other.endDate;
+        }
+        if (this.talk == null || other.talk == null) {
+            if (this.talk != other.talk) {
+                changed = true;
+                this.talk = other.talk;
+            }
+        } else if (this.talk.merge(other.talk)) {
+            changed = true;
+        }
+        return changed;
+    }
+
     @Override
     public boolean contains(String keyword) {
         if (keyword == null || keyword.isEmpty()) {
             return false;
         } 
         String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
-        return containsKeyword(getTitle(), lowerKeyword) ||
-               containsKeyword(getRoomName(), lowerKeyword);
+        for (Object value : searchValues()) {
+            if (containsKeyword(value, lowerKeyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<?> searchValues() {
+        if (talk == null) {
+            return Arrays.asList(null, null, null, null, null, getRoomName());
+        }
+        return Arrays.asList(getTitle(), joinTagValues(talk.getTags()), talk.getTrack(),
+                joinSpeakerNames(talk.getSpeakers()), getSummary(), getRoomName());
+    }
+
+    @Override
+    public double searchWeight(int valueIndex) {
+        return SEARCH_WEIGHTS[valueIndex];
+    }
+
+    @Override
+    public boolean isFuzzySearchValue(int valueIndex) {
+        // the title
+        return valueIndex == 0;
+    }
+
+    @Override
+    public Observable[] searchDependencies() {
+        // the summary is merged in place once the details of the talk are retrieved
+        return talk == null ? new Observable[0] : new Observable[] {talk.detailsRetrievedProperty()};
+    }
+
+    private static String joinTagValues(List<Tag> tags) {
+        if (tags == null) {
+            return null;
+        }
+        StringJoiner joiner = new StringJoiner(" ");
+        for (Tag tag : tags) {
+            if (tag.getValue() != null) {
+                joiner.add(tag.getValue());
+            }
+        }
+        return joiner.toString();
+    }
+
+    private static String joinSpeakerNames(List<TalkSpeaker> speakers) {
+        if (speakers == null) {
+            return null;
+        }
+        StringJoiner joiner = new StringJoiner(" ");
+        for (TalkSpeaker speaker : speakers) {
+            if (speaker.getName() != null) {
+                joiner.add(speaker.getName());
+            }
+        }
+        return joiner.toString();
     }
 
     public String getTitle() {
@@ -25,13 +25,20 @@
  */
 package com.devoxx.model;
 
+import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+
+public class Speaker extends Searchable implements Mergeable<Speaker> {
+
+    // first name, last name, company and summary
+    private static final double[] SEARCH_WEIGHTS = {3, 3, 1.5, 1};
 
-public class Speaker extends Searchable {
     private String uuid;
     private String bio;
     private String bioAsHtml;
@@ -162,6 +169,101 @@ public class Speaker extends Searchable {
         this.detailsRetrieved.set(detailsRetrieved);
     }
 
+    @Override
+    public boolean merge(Speaker other) {
+        boolean changed = false;
+        if (!Objects.equals(other.bio, this.bio)) {
+            changed = true;
+            this.bio = other.bio;
+        }
+        if (!Objects.equals(other.bioAsHtml, this.bioAsHtml)) {
+            changed = true;
+            this.bioAsHtml = other.bioAsHtml;
+        }
+        if (!Objects.equals(other.firstName, this.firstName)) {
+            changed = true;
+            this.firstName = other.firstName;
+        }
+        if (!Objects.equals(other.lastName, this.lastName)) {
+            changed = true;
+            this.lastName = other.lastName;
+        }
+        if (!Objects.equals(other.avatarURL, this.avatarURL)) {
+            changed = true;
+            this.avatarURL = other.avatarURL;
+        }
+        if (!Objects.equals(other.company, this.company)) {
+            changed = true;
+            this.company = other.company;
+        }
+        if (!Objects.equals(other.blog, this.blog)) {
+            changed = true;
+            this.blog = other.blog;
+        }
+        if (!Objects.equals(other.twitter, this.twitter)) {
+            changed = true;
+            this.twitter = other.twitter;
+        }
+        if (!Objects.equals(other.lang, this.lang)) {
+            changed = true;
+            this.lang = other.lang;
+        }
+        if (!Objects.equals(other.acceptedTalks, this.acceptedTalks)) {
+            changed = true;
+            this.acceptedTalks = other.acceptedTalks;
+        }
+        return changed;
+    }
+
+    /**
+     * Merges the fields that are set in the given speaker, keeping the other ones. Used to
+     * update a speaker with details from an entry of the speakers list, which leaves out
+     * the details.
+     *
+     * @param other the speaker to merge
+     * @return true if a field changed
+     */
+    public boolean mergeSummary(Speaker other) {
+        boolean changed = false;
+        if (other.bio != null && !other.bio.equals(this.bio)) {
+            changed = true;
+            this.bio = other.bio;
+        }
+        if (other.bioAsHtml != null && !other.bioAsHtml.equals(this.bioAsHtml)) {
+            changed = true;
+            this.bioAsHtml = other.bioAsHtml;
+        }
+        if (other.firstName != null && !other.firstName.equals(this.firstName)) {
+            changed = true;
+            this.firstName = other.firstName;
+        }
+        if (other.lastName != null && !other.lastName.equals(this.lastName)) {
+            changed = true;
+            this.lastName = other.lastName;
+        }
+        if (other.avatarURL != null && !other.avatarURL.equals(this.avatarURL)) {
+            changed = true;
+            this.avatarURL = other.avatarURL;
+        }
+        if (other.company != null && !other.company.equals(this.company)) {
+            changed = true;
+            this.company = other.company;
+        }
+        if (other.blog != null && !other.blog.equals(this.blog)) {
+            changed = true;
+            this.blog = other.blog;
+        }
+        if (other.twitter != null && !other.twitter.equals(this.twitter)) {
+            changed = true;
+            this.twitter = other.twitter;
+        }
+        if (other.lang != null && !other.lang.equals(this.lang)) {
+            changed = true;
+            this.lang = other.lang;
+        }
+        return changed;
+    }
+
     @Override
     public boolean contains(String keyword) {
         if (keyword == null || keyword.isEmpty()) {
@@ -175,6 +277,28 @@ public class Speaker extends Searchable {
 
     }
 
+    @Override
+    public List<?> searchValues() {
+        return Arrays.asList(getFirstName(), getLastName(), getCompany(), getSummary());
+    }
+
+    @Override
+    public double searchWeight(int valueIndex) {
+        return SEARCH_WEIGHTS[valueIndex];
+    }
+
+    @Override
+    public boolean isFuzzySearchValue(int valueIndex) {
+        // the first and last name
+        return valueIndex < 2;
+    }
+
+    @Override
+    public Observable[] searchDependencies() {
+        // the bio is merged in place once the details are retrieved
+        return new Observable[] {detailsRetrieved};
+    }
+
     @Override
     public String toString() {
         return "Speaker{" +
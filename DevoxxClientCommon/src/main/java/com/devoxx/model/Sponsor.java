@@ -27,6 +27,8 @@ package com.devoxx.model;
 
 import com.devoxx.util.SponsorCategory;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -161,6 +163,11 @@ public class Sponsor extends Searchable implements Mergeable<Sponsor> {
                 containsKeyword(getLevel(), lowerKeyword);
     }
 
+    @Override
+    public List<?> searchValues() {
+        return Arrays.asList(getName(), getSlug(), getLevel());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -25,9 +25,12 @@
  */
 package com.devoxx.model;
 
+import javafx.beans.Observable;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -77,6 +80,17 @@ public class SponsorBadge extends Badge {
                 containsKeyword(getSponsor(), lowerKeyword);
     }
 
+    @Override
+    public List<?> searchValues() {
+        return Arrays.asList(getFirstName(), getLastName(), getCompany(), getEmail(), getDetails(), getSponsor());
+    }
+
+    @Override
+    public Observable[] searchDependencies() {
+        return new Observable[] {firstNameProperty(), lastNameProperty(), companyProperty(), emailProperty(),
+                detailsProperty(), sponsor};
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -25,6 +25,8 @@
  */
 package com.devoxx.model;
 
+import java.util.Objects;
+
 public class Tag {
     
     private String value;
@@ -42,4 +44,17 @@ public class Tag {
     public void setValue(String value) {
         this.value = value;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Tag tag = (Tag) o;
+        return Objects.equals(value, tag.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value);
+    }
 }
@@ -25,9 +25,13 @@
  */
 package com.devoxx.model;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+
 import java.util.List;
+import java.util.Objects;
 
-public class Talk {
+public class Talk implements Mergeable<Talk> {
 
     private String id;
     private String title;
@@ -40,6 +44,7 @@ public class Talk {
     private String summaryAsHtml;
     private List<Tag> tags;
     private List<TalkSpeaker> speakers;
+    private BooleanProperty detailsRetrieved = new SimpleBooleanProperty();
 
     public Talk() {}
 
@@ -174,6 +179,80 @@ public class Talk {
         this.speakers = speakers;
     }
 
+    /**
+     * Returns true if the summary and tags of this talk have been retrieved. A talk that is
+     * retrieved for the schedule list only has the fields that the list needs.
+     */
+    public boolean isDetailsRetrieved() {
+        return detailsRetrieved.get();
+    }
+
+    public BooleanProperty detailsRetrievedProperty() {
+        return detailsRetrieved;
+    }
+
+    public void setDetailsRetrieved(boolean detailsRetrieved) {
+        this.detailsRetrieved.set(detailsRetrieved);
+    }
+
+    /**
+     * Merges the given talk into this one. The summary is only merged when the other talk has
+     * the details, and the tags when it has tags or the details, so details that were
+     * retrieved before are kept.
+     */
+    @Override
+    public boolean merge(Talk other) {
+        boolean changed = false;
+        if (!Objects.equals(other.id, this.id)) {
+            changed = true;
+            this.id = other.id;
+        }
+        if (!Objects.equals(other.title, this.title)) {
+            changed = true;
+            this.title = other.title;
+        }
+        if (!Objects.equals(other.talkType, this.talkType)) {
+            changed = true;
+            this.talkType = other.talkType;
+        }
+        if (!Objects.equals(other.track, this.track)) {
+            changed = true;
+            this.track = other.track;
+        }
+        if (!Objects.equals(other.trackId, this.trackId)) {
+            changed = true;
+            this.trackId = other.trackId;
+        }
+        if (!Objects.equals(other.lang, this.lang)) {
+            changed = true;
+            this.lang = other.lang;
+        }
+        if (!Objects.equals(other.audienceLevel, this.audienceLevel)) {
+            changed = true;
+            this.audienceLevel = other.audienceLevel;
+        }
+        if (other.isDetailsRetrieved()) {
+            if (!Objects.equals(other.summary, this.summary)) {
+                changed = true;
+                this.summary = other.summary;
+            }
+            if (!Objects.equals(other.summaryAsHtml, this.summaryAsHtml)) {
+                changed = true;
+                this.summaryAsHtml = other.summaryAsHtml;
+            }
+            setDetailsRetrieved(true);
+        }
+        if ((other.tags != null || other.isDetailsRetrieved()) && !Objects.equals(other.tags, this.tags)) {
+            changed = true;
+            this.tags = other.tags;
+        }
+        if (!Objects.equals(other.speakers, this.speakers)) {
+            changed = true;
+            this.speakers = other.speakers;
+        }
+        return changed;
+    }
+
     @Override
     public int hashCode() {
         int hash = 7;
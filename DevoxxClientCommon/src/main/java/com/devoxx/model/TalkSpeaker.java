@@ -25,6 +25,8 @@
  */
 package com.devoxx.model;
 
+import java.util.Objects;
+
 public class TalkSpeaker {
     private Link link;
     private String name;
@@ -44,4 +46,18 @@ public class TalkSpeaker {
     public void setName(String name) {
         this.name = name;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TalkSpeaker that = (TalkSpeaker) o;
+        return Objects.equals(link, that.link) &&
+                Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(link, name);
+    }
 }
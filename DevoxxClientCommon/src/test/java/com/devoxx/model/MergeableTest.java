@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.model;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MergeableTest {
+
+    @Test
+    public void talkKeepsDetailsUntilOtherHasThem() {
+        Talk talk = talk("Old title", "Summary");
+        talk.setDetailsRetrieved(true);
+
+        Talk listTalk = talk("New title", null);
+        assertTrue(talk.merge(listTalk));
+        assertEquals("New title", talk.getTitle());
+        assertEquals("Summary", talk.getSummary());
+        assertEquals(1, talk.getTags().size());
+        assertTrue(talk.isDetailsRetrieved());
+        assertFalse(talk.merge(listTalk));
+
+        Talk detailedTalk = talk("New title", "New summary");
+        detailedTalk.setDetailsRetrieved(true);
+        assertTrue(talk.merge(detailedTalk));
+        assertEquals("New summary", talk.getSummary());
+    }
+
+    @Test
+    public void talkMergesTagsOfTheList() {
+        Talk talk = talk("Title", null);
+        Talk listTalk = talk("Title", null);
+        listTalk.setTags(Collections.singletonList(new Tag("cloud")));
+
+        assertTrue(talk.merge(listTalk));
+        assertEquals("cloud", talk.getTags().get(0).getValue());
+        assertFalse(talk.isDetailsRetrieved());
+    }
+
+    @Test
+    public void talkMergeMarksDetailsRetrieved() {
+        Talk talk = talk("Title", null);
+        Talk detailedTalk = talk("Title", "Summary");
+        detailedTalk.setDetailsRetrieved(true);
+
+        assertTrue(talk.merge(detailedTalk));
+        assertTrue(talk.isDetailsRetrieved());
+        assertEquals("Summary", talk.getSummary());
+    }
+
+    @Test
+    public void sessionMergesTalkInPlace() {
+        Talk talk = talk("Title", null);
+        Session session = new Session("slot", "room", "Room 1", "monday", "09:30", 1000, "10:30", 2000, null, talk);
+        Session other = new Session("slot", "room", "Room 2", "monday", "09:30", 1000, "11:00", 3000, null, talk("New title", null));
+
+        assertTrue(session.merge(other));
+        assertSame(talk, session.getTalk());
+        assertEquals("New title", session.getTitle());
+        assertEquals("Room 2", session.getRoomName());
+        assertEquals("11:00", session.getToTime());
+        assertFalse(session.merge(other));
+    }
+
+    @Test
+    public void sessionDependsOnTalkDetails() {
+        Talk talk = talk("Title", null);
+        Session session = new Session("slot", "room", "Room 1", "monday", "09:30", 1000, "10:30", 2000, null, talk);
+        assertSame(talk.detailsRetrievedProperty(), session.searchDependencies()[0]);
+        assertEquals(0, new Session().searchDependencies().length);
+    }
+
+    @Test
+    public void speakerMergeReplacesAllValues() {
+        Speaker speaker = speaker("Bio", "Acme");
+        Speaker other = speaker(null, "Initech");
+
+        assertTrue(speaker.merge(other));
+        assertNull(speaker.getBio());
+        assertEquals("Initech", speaker.getCompany());
+        assertFalse(speaker.merge(other));
+    }
+
+    @Test
+    public void speakerMergeSummaryKeepsMissingValues() {
+        Speaker speaker = speaker("Bio", "Acme");
+        Speaker summary = speaker(null, "Initech");
+
+        assertTrue(speaker.mergeSummary(summary));
+        assertEquals("Bio", speaker.getBio());
+        assertEquals("Initech", speaker.getCompany());
+        assertFalse(speaker.mergeSummary(summary));
+    }
+
+    @Test
+    public void exhibitorMerge() {
+        Exhibitor exhibitor = new Exhibitor("uuid", "Gluon", "Hall 1", "Summary", "Description", "picture", "url", "B1");
+        Exhibitor other = new Exhibitor("uuid", "Gluon", "Hall 2", "Summary", "Description", "picture", "url", "B2");
+
+        assertTrue(exhibitor.merge(other));
+        assertEquals("Hall 2", exhibitor.getLocation());
+        assertEquals("B2", exhibitor.getBooth());
+        assertFalse(exhibitor.merge(other));
+    }
+
+    @Test
+    public void sponsorMerge() {
+        Sponsor sponsor = new Sponsor("id", "Gluon", "gluon", "image", "gold");
+        Sponsor other = new Sponsor("id", "Gluon HQ", "gluon", "image", "platinum");
+
+        assertTrue(sponsor.merge(other));
+        assertEquals("Gluon HQ", sponsor.getName());
+        assertEquals(other.getLevel(), sponsor.getLevel());
+        assertFalse(sponsor.merge(other));
+    }
+
+    private static Talk talk(String title, String summary) {
+        return new Talk("talk", title, "Conference", "Java", "en", "L1", summary, summary,
+                summary == null ? null : Collections.singletonList(new Tag("java")), null);
+    }
+
+    private static Speaker speaker(String bio, String company) {
+        return new Speaker("uuid", bio, bio, "Duke", "Java", "avatar", company, null, "@duke", "en", null);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads the data of a conference as a set of stages with explicit dependencies.
+ *
+ * Critical stages start as soon as their dependencies are done. Deferred stages also wait
+ * until all critical stages are done, so they don't compete with the data that is needed
+ * to show the schedule. The duration of each stage is recorded and logged.
+ *
+ * Stages are started and completed on the JavaFX Application thread. Each stage receives a
+ * callback that it has to run once its work is done, whether it succeeded or not.
+ */
+class ConferenceBootstrap {
+
+    private static final Logger LOG = Logger.getLogger(ConferenceBootstrap.class.getName());
+
+    enum Priority {
+        CRITICAL,
+        DEFERRED
+    }
+
+    private enum State {
+        PENDING,
+        RUNNING,
+        DONE
+    }
+
+    private final String name;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private long startNanos;
+    private boolean cancelled;
+
+    ConferenceBootstrap(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds a stage to the bootstrap.
+     *
+     * @param stageName the unique name of the stage
+     * @param priority the priority of the stage
+     * @param action the work of the stage, that runs the given callback when done
+     * @param dependencies the names of the stages that have to be done before this stage starts
+     * @return this bootstrap
+     */
+    ConferenceBootstrap stage(String stageName, Priority priority, Consumer<Runnable> action, String... dependencies) {
+        if (stages.containsKey(stageName)) {
+            throw new IllegalArgumentException("Stage " + stageName + " already defined");
+        }
+        stages.put(stageName, new Stage(stageName, priority, action, Arrays.asList(dependencies)));
+        return this;
+    }
+
+    void start() {
+        for (Stage stage : stages.values()) {
+            for (String dependency : stage.dependencies) {
+                if (!stages.containsKey(dependency)) {
+                    throw new IllegalStateException("Stage " + stage.name + " depends on unknown stage " + dependency);
+                }
+            }
+        }
+        startNanos = System.nanoTime();
+        startReadyStages();
+    }
+
+    /**
+     * Stops scheduling stages. Stages that are already running are not interrupted,
+     * but their completion is ignored.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns the duration in milliseconds of each stage that is done, in the order
+     * the stages were added.
+     */
+    Map<String, Long> getStageDurations() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        for (Stage stage : stages.values()) {
+            if (stage.state == State.DONE) {
+                durations.put(stage.name, toMillis(stage.endNanos - stage.startNanos));
+            }
+        }
+        return durations;
+    }
+
+    private void startReadyStages() {
+        if (cancelled) {
+            return;
+        }
+        boolean criticalDone = isDone(Priority.CRITICAL);
+        List<Stage> readyStages = new ArrayList<>();
+        for (Stage stage : stages.values()) {
+            if (stage.state == State.PENDING && dependenciesDone(stage) &&
+                    (stage.priority == Priority.CRITICAL || criticalDone)) {
+                readyStages.add(stage);
+            }
+        }
+        // critical stages are started first, and all ready stages are marked as running before
+        // starting any of them, as a stage that completes synchronously schedules stages again
+        readyStages.sort((s1, s2) -> s1.priority.compareTo(s2.priority));
+        for (Stage stage : readyStages) {
+            stage.state = State.RUNNING;
+        }
+        for (Stage stage : readyStages) {
+            if (cancelled) {
+                return;
+            }
+            stage.startNanos = System.nanoTime();
+            LOG.log(Level.FINE, "Bootstrap " + name + ": starting stage " + stage.name);
+            try {
+                stage.action.accept(() -> complete(stage));
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Bootstrap " + name + ": stage " + stage.name + " failed", e);
+                complete(stage);
+            }
+        }
+    }
+
+    private void complete(Stage stage) {
+        if (cancelled || stage.state != State.RUNNING) {
+            return;
+        }
+        stage.state = State.DONE;
+        stage.endNanos = System.nanoTime();
+        LOG.log(Level.INFO, String.format("Bootstrap %s: stage %s done in %d ms (started at +%d ms)",
+                name, stage.name, toMillis(stage.endNanos - stage.startNanos), toMillis(stage.startNanos - startNanos)));
+
+        if (isDone(null)) {
+            LOG.log(Level.INFO, String.format("Bootstrap %s: done in %d ms, stages: %s",
+                    name, toMillis(stage.endNanos - startNanos), getStageDurations()));
+        } else {
+            startReadyStages();
+        }
+    }
+
+    private boolean dependenciesDone(Stage stage) {
+        for (String dependency : stage.dependencies) {
+            if (stages.get(dependency).state != State.DONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // checks whether all stages, or the stages of the given priority, are done
+    private boolean isDone(Priority priority) {
+        for (Stage stage : stages.values()) {
+            if ((priority == null || stage.priority == priority) && stage.state != State.DONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static class Stage {
+
+        private final String name;
+        private final Priority priority;
+        private final Consumer<Runnable> action;
+        private final List<String> dependencies;
+        private State state = State.PENDING;
+        private long startNanos;
+        private long endNanos;
+
+        Stage(String name, Priority priority, Consumer<Runnable> action, List<String> dependencies) {
+            this.name = name;
+            this.priority = priority;
+            this.action = action;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.devoxx.model.Conference;
+import com.devoxx.model.Session;
+import com.devoxx.model.Speaker;
+import com.gluonhq.connect.converter.InputStreamInputConverter;
+
+import javax.json.Json;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the response of the conferenceBundle remote function with a streaming parser. The
+ * response can be gzip compressed. The conference metadata, tracks and session types of the
+ * bundle are skipped, the client takes them from the conference it already has.
+ */
+class ConferenceBundleConverter extends InputStreamInputConverter<ConferenceBundle> {
+
+    // the newest version of the bundle format that can be read
+    static final int BUNDLE_VERSION = 1;
+
+    private final Conference conference;
+
+    ConferenceBundleConverter(Conference conference) {
+        this.conference = conference;
+    }
+
+    @Override
+    public ConferenceBundle read() {
+        try (JsonParser parser = Json.createParser(new InputStreamReader(decode(getInputStream()), StandardCharsets.UTF_8))) {
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_OBJECT) {
+                throw new JsonParsingException("Expected a conference bundle", parser.getLocation());
+            }
+            String hash = null;
+            boolean unchanged = false;
+            List<Session> sessions = Collections.emptyList();
+            List<Speaker> speakers = Collections.emptyList();
+            while (parser.next() == JsonParser.Event.KEY_NAME) {
+                String key = parser.getString();
+                JsonParser.Event event = parser.next();
+                switch (key) {
+                    case "version":
+                        if (event != JsonParser.Event.VALUE_NUMBER || parser.getInt() > BUNDLE_VERSION) {
+                            throw new JsonParsingException("Unsupported conference bundle version", parser.getLocation());
+                        }
+                        break;
+                    case "hash": hash = readString(parser, event); break;
+                    case "unchanged": unchanged = event == JsonParser.Event.VALUE_TRUE; break;
+                    case "slots":
+                        if (event == JsonParser.Event.START_ARRAY) {
+                            sessions = new SessionsJsonConverter(conference).readArray(parser);
+                        }
+                        break;
+                    case "speakers":
+                        if (event == JsonParser.Event.START_ARRAY) {
+                            speakers = readSpeakers(parser);
+                        }
+                        break;
+                    default: SessionsJsonConverter.skipValue(parser, event);
+                }
+            }
+            return new ConferenceBundle(hash, unchanged, sessions, speakers);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read conference bundle", e);
+        }
+    }
+
+    private static InputStream decode(InputStream inputStream) throws IOException {
+        BufferedInputStream input = new BufferedInputStream(inputStream);
+        input.mark(2);
+        int first = input.read();
+        int second = input.read();
+        input.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(input);
+        }
+        return input;
+    }
+
+    private static List<Speaker> readSpeakers(JsonParser parser) {
+        List<Speaker> speakers = new ArrayList<>();
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (event != JsonParser.Event.START_OBJECT) {
+                SessionsJsonConverter.skipValue(parser, event);
+                continue;
+            }
+            Speaker speaker = new Speaker();
+            while (parser.next() == JsonParser.Event.KEY_NAME) {
+                String key = parser.getString();
+                JsonParser.Event valueEvent = parser.next();
+                switch (key) {
+                    case "uuid": speaker.setUuid(readString(parser, valueEvent)); break;
+                    case "firstName": speaker.setFirstName(readString(parser, valueEvent)); break;
+                    case "lastName": speaker.setLastName(readString(parser, valueEvent)); break;
+                    case "avatarURL": speaker.setAvatarURL(readString(parser, valueEvent)); break;
+                    case "company": speaker.setCompany(readString(parser, valueEvent)); break;
+                    case "bio": speaker.setBio(readString(parser, valueEvent)); break;
+                    case "bioAsHtml": speaker.setBioAsHtml(readString(parser, valueEvent)); break;
+                    case "blog": speaker.setBlog(readString(parser, valueEvent)); break;
+                    case "twitter": speaker.setTwitter(readString(parser, valueEvent)); break;
+                    case "lang": speaker.setLang(readString(parser, valueEvent)); break;
+                    default: SessionsJsonConverter.skipValue(parser, valueEvent);
+                }
+            }
+            speakers.add(speaker);
+        }
+        return speakers;
+    }
+
+    private static String readString(JsonParser parser, JsonParser.Event event) {
+        if (event == JsonParser.Event.VALUE_STRING) {
+            return parser.getString();
+        }
+        SessionsJsonConverter.skipValue(parser, event);
+        return null;
+    }
+}
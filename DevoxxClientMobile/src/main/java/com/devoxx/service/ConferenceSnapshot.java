@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.devoxx.model.Conference;
+import com.devoxx.model.Link;
+import com.devoxx.model.Session;
+import com.devoxx.model.SessionType;
+import com.devoxx.model.Speaker;
+import com.devoxx.model.Tag;
+import com.devoxx.model.Talk;
+import com.devoxx.model.TalkSpeaker;
+import com.devoxx.model.Track;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A compact copy of the schedule data of a conference, persisted in private storage.
+ *
+ * Snapshots are stored per conference id and CFP version, so that a new CFP version
+ * never reuses stale data. The snapshot is published at startup while the data is
+ * revalidated against the remote functions in the background.
+ */
+class ConferenceSnapshot {
+
+    private static final Logger LOG = Logger.getLogger(ConferenceSnapshot.class.getName());
+
+    private static final String SNAPSHOTS_DIR = "snapshots";
+    private static final String SESSIONS_FILE = "sessions.json";
+    private static final String SPEAKERS_FILE = "speakers.json";
+    private static final String TRACKS_FILE = "tracks.json";
+    private static final String SESSION_TYPES_FILE = "sessionTypes.json";
+    private static final String BUNDLE_HASH_FILE = "bundle.hash";
+
+    private final File snapshotDir;
+
+    private ConferenceSnapshot(File snapshotDir) {
+        this.snapshotDir = snapshotDir;
+    }
+
+    /**
+     * Returns the snapshot for the given conference.
+     *
+     * @param rootDir the private storage directory, can be null
+     * @param conference the conference
+     * @return the snapshot, or null if there is no storage or the conference can't be keyed
+     */
+    static ConferenceSnapshot of(File rootDir, Conference conference) {
+        if (rootDir == null || !isKeyed(conference)) {
+            return null;
+        }
+        return new ConferenceSnapshot(new File(new File(rootDir, SNAPSHOTS_DIR), name(conference)));
+    }
+
+    /**
+     * Removes the snapshots of other CFP versions of the given conference.
+     *
+     * @param rootDir the private storage directory, can be null
+     * @param conference the conference
+     */
+    static void removeOtherVersions(File rootDir, Conference conference) {
+        if (rootDir == null || !isKeyed(conference)) {
+            return;
+        }
+        String prefix = sanitize(conference.getId()) + "_";
+        String name = name(conference);
+        File[] previous = new File(rootDir, SNAPSHOTS_DIR).listFiles((dir, fileName) -> fileName.startsWith(prefix) && !fileName.equals(name));
+        if (previous != null) {
+            for (File dir : previous) {
+                deleteDir(dir);
+            }
+        }
+    }
+
+    private static boolean isKeyed(Conference conference) {
+        return conference != null && conference.getId() != null && conference.getCfpVersion() != null;
+    }
+
+    private static String name(Conference conference) {
+        return sanitize(conference.getId()) + "_" + sanitize(conference.getCfpVersion());
+    }
+
+    boolean hasSessions() {
+        return new File(snapshotDir, SESSIONS_FILE).exists();
+    }
+
+    boolean hasSpeakers() {
+        return new File(snapshotDir, SPEAKERS_FILE).exists();
+    }
+
+    List<Session> readSessions() throws IOException {
+        return read(SESSIONS_FILE, ConferenceSnapshot::readSession);
+    }
+
+    void writeSessions(List<Session> sessions) throws IOException {
+        write(SESSIONS_FILE, sessions, ConferenceSnapshot::writeSession);
+    }
+
+    List<Speaker> readSpeakers() throws IOException {
+        return read(SPEAKERS_FILE, ConferenceSnapshot::readSpeaker);
+    }
+
+    void writeSpeakers(List<Speaker> speakers) throws IOException {
+        write(SPEAKERS_FILE, speakers, ConferenceSnapshot::writeSpeaker);
+    }
+
+    List<Track> readTracks() throws IOException {
+        return read(TRACKS_FILE, ConferenceSnapshot::readTrack);
+    }
+
+    void writeTracks(List<Track> tracks) throws IOException {
+        write(TRACKS_FILE, tracks, ConferenceSnapshot::writeTrack);
+    }
+
+    List<SessionType> readSessionTypes() throws IOException {
+        return read(SESSION_TYPES_FILE, ConferenceSnapshot::readSessionType);
+    }
+
+    void writeSessionTypes(List<SessionType> sessionTypes) throws IOException {
+        write(SESSION_TYPES_FILE, sessionTypes, ConferenceSnapshot::writeSessionType);
+    }
+
+    /**
+     * Returns the hash of the conference bundle that the stored sessions and speakers
+     * come from, or null if there is none.
+     */
+    String readBundleHash() throws IOException {
+        File file = new File(snapshotDir, BUNDLE_HASH_FILE);
+        if (!file.exists() || !hasSessions() || !hasSpeakers()) {
+            return null;
+        }
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Stores the hash of the conference bundle, to be called once its sessions and speakers
+     * have been stored.
+     */
+    void writeBundleHash(String hash) throws IOException {
+        if (!snapshotDir.exists() && !snapshotDir.mkdirs()) {
+            throw new IOException("Could not create snapshot directory " + snapshotDir);
+        }
+        Files.write(new File(snapshotDir, BUNDLE_HASH_FILE).toPath(), hash.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private <T> List<T> read(String fileName, Function<JsonObject, T> reader) throws IOException {
+        File file = new File(snapshotDir, fileName);
+        if (!file.exists()) {
+            return Collections.emptyList();
+        }
+        try (JsonReader jsonReader = Json.createReader(new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))) {
+            JsonArray array = jsonReader.readArray();
+            List<T> items = new ArrayList<>(array.size());
+            for (JsonObject object : array.getValuesAs(JsonObject.class)) {
+                items.add(reader.apply(object));
+            }
+            return items;
+        } catch (RuntimeException e) {
+            // a corrupt snapshot is discarded, it will be written again after the next retrieval
+            file.delete();
+            throw new IOException("Invalid snapshot file " + file, e);
+        }
+    }
+
+    private <T> void write(String fileName, List<T> items, BiConsumer<JsonGenerator, T> writer) throws IOException {
+        if (!snapshotDir.exists() && !snapshotDir.mkdirs()) {
+            throw new IOException("Could not create snapshot directory " + snapshotDir);
+        }
+        // write to a temporary file first, so a partial write never replaces a valid snapshot
+        File file = new File(snapshotDir, fileName);
+        File tmpFile = new File(snapshotDir, fileName + ".tmp");
+        try (JsonGenerator generator = Json.createGenerator(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmpFile), StandardCharsets.UTF_8)))) {
+            generator.writeStartArray();
+            for (T item : items) {
+                writer.accept(generator, item);
+            }
+            generator.writeEnd();
+        }
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Could not replace snapshot file " + file);
+        }
+        if (!tmpFile.renameTo(file)) {
+            throw new IOException("Could not rename snapshot file " + tmpFile);
+        }
+        LOG.log(Level.FINE, "Stored " + items.size() + " items in snapshot " + file);
+    }
+
+    private static void writeSession(JsonGenerator generator, Session session) {
+        generator.writeStartObject();
+        writeString(generator, "slotId", session.getSlotId());
+        writeString(generator, "roomId", session.getRoomId());
+        writeString(generator, "roomName", session.getRoomName());
+        writeString(generator, "day", session.getDay());
+        writeString(generator, "fromTime", session.getFromTime());
+        generator.write("fromTimeMillis", session.getFromTimeMillis());
+        writeString(generator, "toTime", session.getToTime());
+        generator.write("toTimeMillis", session.getToTimeMillis());
+        Talk talk = session.getTalk();
+        if (talk != null) {
+            generator.writeStartObject("talk");
+            writeString(generator, "id", talk.getId());
+            writeString(generator, "title", talk.getTitle());
+            writeString(generator, "talkType", talk.getTalkType());
+            writeString(generator, "track", talk.getTrack());
+            writeString(generator, "trackId", talk.getTrackId());
+            writeString(generator, "lang", talk.getLang());
+            writeString(generator, "audienceLevel", talk.getAudienceLevel());
+            writeString(generator, "summary", talk.getSummary());
+            writeString(generator, "summaryAsHtml", talk.getSummaryAsHtml());
+            if (talk.getTags() != null) {
+                generator.writeStartArray("tags");
+                for (Tag tag : talk.getTags()) {
+                    if (tag.getValue() != null) {
+                        generator.write(tag.getValue());
+                    }
+                }
+                generator.writeEnd();
+            }
+            if (talk.getSpeakers() != null) {
+                generator.writeStartArray("speakers");
+                for (TalkSpeaker talkSpeaker : talk.getSpeakers()) {
+                    generator.writeStartObject();
+                    writeString(generator, "name", talkSpeaker.getName());
+                    Link link = talkSpeaker.getLink();
+                    if (link != null) {
+                        writeString(generator, "href", link.getHref());
+                        writeString(generator, "rel", link.getRel());
+                        writeString(generator, "title", link.getTitle());
+                    }
+                    generator.writeEnd();
+                }
+                generator.writeEnd();
+            }
+            generator.writeEnd();
+        }
+        generator.writeEnd();
+    }
+
+    private static Session readSession(JsonObject object) {
+        Talk talk = null;
+        if (object.containsKey("talk") && object.get("talk").getValueType() == JsonValue.ValueType.OBJECT) {
+            JsonObject talkObject = object.getJsonObject("talk");
+            List<Tag> tags = null;
+            if (talkObject.containsKey("tags")) {
+                tags = new ArrayList<>();
+                for (JsonValue tag : talkObject.getJsonArray("tags")) {
+                    if (tag.getValueType() == JsonValue.ValueType.STRING) {
+                        tags.add(new Tag(((JsonString) tag).getString()));
+                    }
+                }
+            }
+            List<TalkSpeaker> speakers = null;
+            if (talkObject.containsKey("speakers")) {
+                speakers = new ArrayList<>();
+                for (JsonObject speakerObject : talkObject.getJsonArray("speakers").getValuesAs(JsonObject.class)) {
+                    TalkSpeaker talkSpeaker = new TalkSpeaker();
+                    talkSpeaker.setName(speakerObject.getString("name", null));
+                    if (speakerObject.containsKey("href")) {
+                        talkSpeaker.setLink(new Link(speakerObject.getString("href", null),
+                                speakerObject.getString("rel", null), speakerObject.getString("title", null)));
+                    }
+                    speakers.add(talkSpeaker);
+                }
+            }
+            talk = new Talk(talkObject.getString("id", null), talkObject.getString("title", null),
+                    talkObject.getString("talkType", null), talkObject.getString("track", null),
+                    talkObject.getString("lang", null), talkObject.getString("audienceLevel", null),
+                    talkObject.getString("summary", null), talkObject.getString("summaryAsHtml", null),
+                    tags, speakers);
+            talk.setTrackId(talkObject.getString("trackId", null));
+            talk.setDetailsRetrieved(talk.getSummary() != null || talk.getSummaryAsHtml() != null);
+        }
+        return new Session(object.getString("slotId", null), object.getString("roomId", null),
+                object.getString("roomName", null), object.getString("day", null),
+                object.getString("fromTime", null), readLong(object, "fromTimeMillis"),
+                object.getString("toTime", null), readLong(object, "toTimeMillis"),
+                null, talk);
+    }
+
+    private static void writeSpeaker(JsonGenerator generator, Speaker speaker) {
+        generator.writeStartObject();
+        writeString(generator, "uuid", speaker.getUuid());
+        writeString(generator, "firstName", speaker.getFirstName());
+        writeString(generator, "lastName", speaker.getLastName());
+        writeString(generator, "company", speaker.getCompany());
+        writeString(generator, "avatarURL", speaker.getAvatarURL());
+        writeString(generator, "twitter", speaker.getTwitter());
+        writeString(generator, "blog", speaker.getBlog());
+        writeString(generator, "lang", speaker.getLang());
+        writeString(generator, "bio", speaker.getBio());
+        writeString(generator, "bioAsHtml", speaker.getBioAsHtml());
+        // only speakers with details have accepted talks, the talks themselves are in the sessions
+        if (speaker.isDetailsRetrieved() && speaker.getAcceptedTalks() != null) {
+            generator.writeStartArray("acceptedTalks");
+            for (Talk talk : speaker.getAcceptedTalks()) {
+                generator.writeStartObject();
+                writeString(generator, "id", talk.getId());
+                writeString(generator, "title", talk.getTitle());
+                generator.writeEnd();
+            }
+            generator.writeEnd();
+        }
+        generator.writeEnd();
+    }
+
+    private static Speaker readSpeaker(JsonObject object) {
+        List<Talk> acceptedTalks = null;
+        JsonArray acceptedTalksArray = object.getJsonArray("acceptedTalks");
+        if (acceptedTalksArray != null) {
+            acceptedTalks = new ArrayList<>();
+            for (JsonObject talkObject : acceptedTalksArray.getValuesAs(JsonObject.class)) {
+                Talk talk = new Talk();
+                talk.setId(talkObject.getString("id", null));
+                talk.setTitle(talkObject.getString("title", null));
+                acceptedTalks.add(talk);
+            }
+        }
+        Speaker speaker = new Speaker(object.getString("uuid", null), object.getString("bio", null),
+                object.getString("bioAsHtml", null), object.getString("firstName", null),
+                object.getString("lastName", null), object.getString("avatarURL", null),
+                object.getString("company", null), object.getString("blog", null),
+                object.getString("twitter", null), object.getString("lang", null), acceptedTalks);
+        // speakers stored without details have them retrieved again
+        speaker.setDetailsRetrieved(acceptedTalks != null);
+        return speaker;
+    }
+
+    private static void writeTrack(JsonGenerator generator, Track track) {
+        generator.writeStartObject();
+        writeString(generator, "id", track.getId());
+        writeString(generator, "name", track.getName());
+        writeString(generator, "description", track.getDescription());
+        writeString(generator, "imageURL", track.getImageURL());
+        writeString(generator, "categoryId", track.getCategoryId());
+        writeString(generator, "categoryName", track.getCategoryName());
+        generator.writeEnd();
+    }
+
+    private static Track readTrack(JsonObject object) {
+        Track track = new Track();
+        track.setId(object.getString("id", null));
+        track.setName(object.getString("name", null));
+        track.setDescription(object.getString("description", null));
+        track.setImageURL(object.getString("imageURL", null));
+        track.setCategoryId(object.getString("categoryId", null));
+        track.setCategoryName(object.getString("categoryName", null));
+        return track;
+    }
+
+    private static void writeSessionType(JsonGenerator generator, SessionType sessionType) {
+        generator.writeStartObject();
+        generator.write("id", sessionType.getId());
+        writeString(generator, "code", sessionType.getCode());
+        writeString(generator, "name", sessionType.getName());
+        generator.write("pause", sessionType.isPause());
+        generator.write("duration", sessionType.getDuration());
+        writeString(generator, "color", sessionType.getColor());
+        generator.writeEnd();
+    }
+
+    private static SessionType readSessionType(JsonObject object) {
+        SessionType sessionType = new SessionType();
+        sessionType.setId(readLong(object, "id"));
+        sessionType.setCode(object.getString("code", null));
+        sessionType.setName(object.getString("name", null));
+        sessionType.setPause(object.getBoolean("pause", false));
+        JsonNumber duration = object.getJsonNumber("duration");
+        sessionType.setDuration(duration == null ? 0 : duration.doubleValue());
+        sessionType.setColor(object.getString("color", null));
+        return sessionType;
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) {
+        if (value != null) {
+            generator.write(name, value);
+        }
+    }
+
+    private static long readLong(JsonObject object, String name) {
+        JsonNumber number = object.getJsonNumber(name);
+        return number == null ? 0 : number.longValue();
+    }
+
+    private static String sanitize(String key) {
+        return key.replaceAll("[^A-Za-z0-9.-]", "_");
+    }
+
+    private static void deleteDir(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+}
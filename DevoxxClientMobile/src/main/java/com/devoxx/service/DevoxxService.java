@@ -34,6 +34,9 @@ import com.devoxx.views.helper.Placeholder;
 import com.devoxx.views.helper.SessionVisuals.SessionListType;
 import com.devoxx.views.layer.ConferenceLoadingLayer;
 import com.gluonhq.charm.down.Services;
+import com.gluonhq.charm.down.plugins.ConnectivityService;
+import com.gluonhq.charm.down.plugins.LifecycleEvent;
+import com.gluonhq.charm.down.plugins.LifecycleService;
 import com.gluonhq.charm.down.plugins.RuntimeArgsService;
 import com.gluonhq.charm.down.plugins.SettingsService;
 import com.gluonhq.charm.down.plugins.StorageService;
@@ -51,6 +54,7 @@ import com.gluonhq.connect.GluonObservableObject;
 import com.gluonhq.connect.converter.JsonInputConverter;
 import com.gluonhq.connect.converter.JsonIterableInputConverter;
 import com.gluonhq.connect.provider.DataProvider;
+import javafx.application.Platform;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -58,31 +62,43 @@ import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
 import javafx.scene.control.Button;
 
+import javax.annotation.PostConstruct;
 import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
 import java.io.*;
-import java.time.Instant;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static com.devoxx.service.ConferenceBootstrap.Priority.CRITICAL;
+import static com.devoxx.service.ConferenceBootstrap.Priority.DEFERRED;
 import static com.devoxx.views.helper.Util.safeStr;
 
 public class DevoxxService implements Service {
 
     private static final Logger LOG = Logger.getLogger(DevoxxService.class.getName());
     private static final String REMOTE_FUNCTION_FAILED_MSG = "Remote function '%s' failed.";
+    // the prefix of the remote functions that add and remove favored sessions
+    private static final String FAVORED = "favored";
+    private static final int SESSIONS_CHUNK_SIZE = 50;
+    // loads the sessions and speakers with the conferenceBundle remote function, instead of separate requests
+    private static final boolean USE_CONFERENCE_BUNDLE = Boolean.getBoolean("enable.conference.bundle");
 
 //    private static final String DEVOXX_CFP_DATA_URL = "https://s3-eu-west-1.amazonaws.com/cfpdevoxx/cfp.json";
 
@@ -114,6 +130,14 @@ public class DevoxxService implements Service {
 
     private final ReadOnlyObjectWrapper<Conference> conference = new ReadOnlyObjectWrapper<>();
 
+    // reads and writes the conference snapshots and pending operations in private storage, in order
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName("SnapshotThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final UserClient authenticationClient;
     private final PushClient pushClient;
     private final DataClient localDataClient;
@@ -124,20 +148,34 @@ public class DevoxxService implements Service {
 
     private final BooleanProperty ready = new SimpleBooleanProperty(false);
 
+    private ConferenceBootstrap bootstrap;
+    private final SpeakerPrefetcher speakerPrefetcher = new SpeakerPrefetcher(speaker -> fetchSpeakerDetails(speaker.getUuid()), this::updateSpeakerDetails);
+
+    private final FavoriteCounts favoriteCounts = new FavoriteCounts();
+
+    // sends the changes of the favored sessions in the background, created on the JavaFX Application thread
+    private SessionListWriteQueue sessionListWriteQueue;
+
     /**
      * The sessions field is crucial. It is returned in the
      * retrieveSessions call that is used by the SessionsPresenter. Hence, the content of the sessions
      * directly reflect to the UI.
      */
     private final ReadOnlyListWrapper<Session> sessions = new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
-    private final AtomicBoolean retrievingSessions = new AtomicBoolean(false);
+    // the ongoing retrieval of the sessions, or null
+    private Retrieval sessionsRetrieval;
+    private final SessionIndex sessionIndex = new SessionIndex();
 
     private final ReadOnlyListWrapper<Speaker> speakers = new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
-    private final AtomicBoolean retrievingSpeakers = new AtomicBoolean(false);
+    private Retrieval speakersRetrieval;
+    private final Set<String> retrievingTalkDetails = new HashSet<>();
+    private final Map<String, Speaker> speakersByUuid = new HashMap<>();
 
     private ReadOnlyListWrapper<Track> tracks = new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
     private ReadOnlyListWrapper<SessionType> sessionTypes = new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
     private ReadOnlyListWrapper<Floor> exhibitionMaps = new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
+    // exhibitors are not retrieved yet, the list is kept so search indexes it only once
+    private final ReadOnlyListWrapper<Exhibitor> exhibitors = new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
 
     // user specific data
     private ObservableList<Session> favoredSessions;
@@ -148,11 +186,51 @@ public class DevoxxService implements Service {
     private GluonObservableObject<Favorites> allFavorites;
     private ListChangeListener<Session> internalFavoredSessionsListener = null;
     private ObservableList<Session> internalFavoredSessions = FXCollections.observableArrayList();
-    private ObservableList<Favorite> favorites = FXCollections.observableArrayList();
 
     public DevoxxService() {
         ready.set(false);
 
+        // keep the session lookup tables in sync with the sessions list
+        sessions.addListener((ListChangeListener<Session>) c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    sessionIndex.removeAll(c.getRemoved());
+                }
+                if (c.wasAdded()) {
+                    sessionIndex.addAll(c.getAddedSubList());
+                }
+            }
+        });
+
+        // keep the speaker registry in sync with the speakers list
+        speakers.addListener((ListChangeListener<Speaker>) c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    for (Speaker speaker : c.getRemoved()) {
+                        speakersByUuid.remove(speaker.getUuid(), speaker);
+                    }
+                }
+                if (c.wasAdded()) {
+                    for (Speaker speaker : c.getAddedSubList()) {
+                        if (speaker.getUuid() != null) {
+                            speakersByUuid.put(speaker.getUuid(), speaker);
+                        }
+                    }
+                }
+            }
+        });
+
+        Services.get(ConnectivityService.class).ifPresent(connectivityService -> {
+            speakerPrefetcher.setConnected(connectivityService.isConnected());
+            connectivityService.connectedProperty().addListener((obs, ov, nv) -> speakerPrefetcher.setConnected(nv));
+        });
+
+        // don't prefetch speaker details while the application is in the background
+        Services.get(LifecycleService.class).ifPresent(lifecycleService -> {
+            lifecycleService.addListener(LifecycleEvent.PAUSE, () -> Platform.runLater(() -> speakerPrefetcher.setForeground(false)));
+            lifecycleService.addListener(LifecycleEvent.RESUME, () -> Platform.runLater(() -> speakerPrefetcher.setForeground(true)));
+        });
+
         allFavorites = new GluonObservableObject<>();
         allFavorites.setState(ConnectState.SUCCEEDED);
 
@@ -196,20 +274,10 @@ public class DevoxxService implements Service {
                 if (ov != null) {
                     clearCfpAccount();
 
-                    if (authenticationClient.isAuthenticated()) {
-                        // Load all authenticated data once user has been authenticated
-                        loadCfpAccount(authenticationClient.getAuthenticatedUser(), this::retrieveAuthenticatedUserSessionInformation);
-                    }
-
                     // unsubscribe from previous push notification topic
                     if (pushClient.isEnabled()) {
                         pushClient.unsubscribe(ov.getId());
                     }
-                } else {
-                    if (authenticationClient.isAuthenticated()) {
-                        // Load all authenticated data once user has been authenticated
-                        loadCfpAccount(authenticationClient.getAuthenticatedUser(), null);
-                    }
                 }
 
                 // subscribe to push notification topic, named after the conference id
@@ -217,14 +285,11 @@ public class DevoxxService implements Service {
                     pushClient.subscribe(nv.getId());
                 }
 
-                retrieveSessionsInternal();
-                retrieveSpeakersInternal();
-                retrieveTracksInternal();
-                retrieveSessionTypesInternal();
-                retrieveExhibitionMapsInternal();
-
-                favorites.clear();
-                refreshFavorites();
+                favoriteCounts.clear();
+                if (rootDir != null) {
+                    snapshotExecutor.execute(() -> ConferenceSnapshot.removeOtherVersions(rootDir, nv));
+                }
+                bootstrapConference(nv);
             }
         });
 
@@ -241,6 +306,93 @@ public class DevoxxService implements Service {
         });
     }
 
+    @PostConstruct
+    public void postConstruct() {
+        // the service is instantiated from Application.init() on the launcher thread, while
+        // the queue uses animations, so it is created on the JavaFX Application thread
+        Platform.runLater(() -> {
+            sessionListWriteQueue = new SessionListWriteQueue(rootDir, snapshotExecutor, operation ->
+                    RemoteFunctionBuilder.create(operation.getFunctionName())
+                            .param("0", operation.cfpUrl)
+                            .param("1", operation.userUuid)
+                            .param("2", operation.talkId)
+                            .object()
+                            .call(String.class),
+                    operation -> {
+                        if (FAVORED.equals(operation.functionPrefix)) {
+                            favoriteCounts.changeSent(operation.talkId, System.currentTimeMillis());
+                        }
+                    });
+
+            // send the changes that couldn't be sent before, and retry as soon as the connection is back
+            sessionListWriteQueue.restore(() -> {
+                // the favored sessions may have been retrieved before the changes were restored
+                if (internalFavoredSessionsListener != null && isAuthenticated()) {
+                    internalFavoredSessions.removeListener(internalFavoredSessionsListener);
+                    applyUnsentChanges(internalFavoredSessions, FAVORED);
+                    internalFavoredSessions.addListener(internalFavoredSessionsListener);
+                }
+            });
+            Services.get(ConnectivityService.class).ifPresent(connectivityService ->
+                    connectivityService.connectedProperty().addListener((obs, ov, nv) -> {
+                        if (nv) {
+                            sessionListWriteQueue.flush();
+                        }
+                    }));
+        });
+    }
+
+    /**
+     * Loads the data of the selected conference. The schedule is loaded first, the data
+     * that is not needed to show it is deferred until the schedule has been loaded.
+     */
+    private void bootstrapConference(Conference conference) {
+        if (bootstrap != null) {
+            bootstrap.cancel();
+        }
+        speakerPrefetcher.cancel();
+        bootstrap = new ConferenceBootstrap(conference.getId());
+        if (USE_CONFERENCE_BUNDLE) {
+            // the speakers arrive in the same response as the sessions
+            bootstrap.stage("sessions", CRITICAL, this::retrieveConferenceBundle)
+                    .stage("speakers", DEFERRED, Runnable::run, "sessions");
+        } else {
+            bootstrap.stage("sessions", CRITICAL, this::retrieveSessionsInternal)
+                    .stage("speakers", DEFERRED, this::retrieveSpeakersInternal);
+        }
+        bootstrap.stage("tracks", CRITICAL, done -> {
+                    retrieveTracksInternal();
+                    done.run();
+                })
+                .stage("sessionTypes", CRITICAL, done -> {
+                    retrieveSessionTypesInternal();
+                    done.run();
+                })
+                .stage("account", CRITICAL, done -> {
+                    if (authenticationClient.isAuthenticated()) {
+                        loadCfpAccount(authenticationClient.getAuthenticatedUser(), done, done);
+                    } else {
+                        done.run();
+                    }
+                })
+                // favored sessions, notes and badges need the sessions and the cfp account
+                .stage("userData", CRITICAL, done -> {
+                    retrieveAuthenticatedUserSessionInformation();
+                    done.run();
+                }, "sessions", "account")
+                .stage("favoriteCounts", CRITICAL, done -> {
+                    refreshFavorites();
+                    done.run();
+                }, "sessions")
+                // the details are retrieved in the background, they don't hold up the pipeline
+                .stage("speakerDetails", DEFERRED, done -> {
+                    retrieveSpeakersWithDetails();
+                    done.run();
+                }, "speakers")
+                .stage("exhibitionMaps", DEFERRED, this::retrieveExhibitionMapsInternal);
+        bootstrap.start();
+    }
+
     @Override
     public void authenticate(Runnable successRunnable) {
         authenticationClient.authenticate(user -> loadCfpAccount(user, successRunnable));
@@ -370,8 +522,8 @@ public class DevoxxService implements Service {
             LOG.log(Level.INFO, "Reload requested? " + reload.exists());
             if (reload.exists()) {
                 reload.delete();
-                retrieveSessionsInternal();
-                retrieveSpeakersInternal();
+                reloadSessionsInternal();
+                retrieveSpeakersInternal(() -> {});
             }
         }
     }
@@ -406,12 +558,12 @@ public class DevoxxService implements Service {
 
     @Override
     public Optional<Session> findSession(String uuid) {
-        for (Session session : retrieveSessions()) {
-            if (session.getTalk() != null && session.getTalk().getId().equals(uuid)) {
-                return Optional.of(session);
-            }
-        }
-        return Optional.empty();
+        return sessionIndex.findByTalkId(uuid);
+    }
+
+    @Override
+    public List<Session> findSessionsBySpeaker(String speakerUuid) {
+        return sessionIndex.findBySpeakerUuid(speakerUuid);
     }
 
     @Override
@@ -419,43 +571,174 @@ public class DevoxxService implements Service {
         return sessions.getReadOnlyProperty();
     }
 
-    private void retrieveSessionsInternal() {
-        // if a retrieval is ongoing, don't initiate again
-        if (!retrievingSessions.compareAndSet(false, true)) {
-            LOG.log(Level.FINE, "Already retrieving sessions from cfp, just return.");
+    /**
+     * Retrieves the sessions of the selected conference, publishing a stored snapshot first when available.
+     *
+     * @param onLoaded called once sessions have been published, or when they couldn't be retrieved
+     */
+    private void retrieveSessionsInternal(Runnable onLoaded) {
+        final Conference conference = getConference();
+        // if a retrieval is ongoing for this conference, don't initiate again
+        if (sessionsRetrieval != null && sessionsRetrieval.isFor(conference)) {
+            LOG.log(Level.FINE, "Already retrieving sessions from cfp, wait for it.");
+            sessionsRetrieval.waiters.add(onLoaded);
             return;
         }
+        // a retrieval for another conference keeps running, but no longer publishes its sessions
+        final Retrieval retrieval = new Retrieval(conference);
+        sessionsRetrieval = retrieval;
 
         sessions.clear();
 
+        final Runnable loaded = runOnce(() -> {
+            onLoaded.run();
+            retrieval.runWaiters();
+        });
+        final ConferenceSnapshot snapshot = ConferenceSnapshot.of(rootDir, conference);
+        if (snapshot == null || !snapshot.hasSessions()) {
+            fetchSessions(retrieval, snapshot, true, loaded);
+            return;
+        }
+
+        // publish the stored sessions right away, and revalidate them afterwards
+        Task<List<Session>> task = new Task<List<Session>>() {
+            @Override
+            protected List<Session> call() throws IOException {
+                List<Session> snapshotSessions = snapshot.readSessions();
+                SessionTimeNormalizer.normalize(snapshotSessions, conference);
+                return snapshotSessions;
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (retrieval == sessionsRetrieval) {
+                LOG.log(Level.INFO, "Loaded " + task.getValue().size() + " sessions from snapshot");
+                sessions.setAll(task.getValue());
+                loaded.run();
+            }
+            fetchSessions(retrieval, snapshot, false, loaded);
+        });
+        task.setOnFailed(e -> {
+            LOG.log(Level.WARNING, "Failed to read sessions snapshot", e.getSource().getException());
+            fetchSessions(retrieval, snapshot, true, loaded);
+        });
+        snapshotExecutor.execute(task);
+    }
+
+    /**
+     * Retrieves the sessions again for the selected conference, keeping the published
+     * sessions while doing so, and applying only the differences once the retrieval succeeds.
+     */
+    private void reloadSessionsInternal() {
+        if (sessions.isEmpty()) {
+            retrieveSessionsInternal(this::retrieveAuthenticatedUserSessionInformation);
+            return;
+        }
+        final Conference conference = getConference();
+        // if a retrieval is ongoing for this conference, don't initiate again
+        if (sessionsRetrieval != null && sessionsRetrieval.isFor(conference)) {
+            LOG.log(Level.FINE, "Already retrieving sessions from cfp, just return.");
+            return;
+        }
+
+        sessionsRetrieval = new Retrieval(conference);
+        fetchSessions(sessionsRetrieval, ConferenceSnapshot.of(rootDir, conference), false, null);
+    }
+
+    /**
+     * Retrieves the sessions from the remote function. The response is decoded and the session
+     * times are normalized one session at a time in the background. When there is no previous
+     * content, sessions are published in chunks as they arrive, so the first day can be shown
+     * before the complete response is read. Otherwise, they are merged into the published
+     * sessions once the remote call succeeds.
+     */
+    private void fetchSessions(Retrieval retrieval, ConferenceSnapshot snapshot, boolean publishDirectly, Runnable onCompleted) {
+        final Conference conference = retrieval.conference;
+        // the list profile leaves out summaries, they are retrieved per session when needed
         RemoteFunctionList fnSessions = RemoteFunctionBuilder.create("sessions")
                 .param("cfpEndpoint", getCfpURL())
-                .param("conferenceId", getConference().getCfpVersion())
+                .param("conferenceId", conference.getCfpVersion())
+                .param("profile", "list")
                 .list();
 
-        GluonObservableList<Session> sessionsList = fnSessions.call(Session.class);
+        GluonObservableList<Session> sessionsList = fnSessions.call(new SessionsJsonConverter(conference));
+        final List<Session> chunk = new ArrayList<>(SESSIONS_CHUNK_SIZE);
         ListChangeListener<Session> sessionsListChangeListener = change -> {
             while (change.next()) {
-                for (Session session : change.getAddedSubList()) {
-                    session.setStartDate(timeToZonedDateTime(session.getFromTimeMillis(), getConference().getConferenceZoneId()));
-                    session.setEndDate(timeToZonedDateTime(session.getToTimeMillis(), getConference().getConferenceZoneId()));
-                }
+                chunk.addAll(change.getAddedSubList());
+            }
+            if (chunk.size() >= SESSIONS_CHUNK_SIZE && retrieval == sessionsRetrieval) {
+                sessions.addAll(chunk);
+                chunk.clear();
             }
         };
-        sessionsList.addListener(sessionsListChangeListener);
+        if (publishDirectly) {
+            sessionsList.addListener(sessionsListChangeListener);
+        }
         sessionsList.setOnFailed(e -> {
-            retrievingSessions.set(false);
             sessionsList.removeListener(sessionsListChangeListener);
-            ConferenceLoadingLayer.hide(getConference());
+            ConferenceLoadingLayer.hide(conference);
             LOG.log(Level.WARNING, String.format(REMOTE_FUNCTION_FAILED_MSG, "sessions"), e.getSource().getException());
+            sessionsRetrieved(retrieval);
+            if (onCompleted != null) {
+                onCompleted.run();
+            }
         });
         sessionsList.setOnSucceeded(e -> {
-            retrievingSessions.set(false);
             sessionsList.removeListener(sessionsListChangeListener);
-            retrieveAuthenticatedUserSessionInformation();
+            if (retrieval != sessionsRetrieval) {
+                // superseded by the retrieval of another conference
+                retrieval.runWaiters();
+                return;
+            }
+            if (publishDirectly) {
+                sessions.addAll(chunk);
+                chunk.clear();
+            } else {
+                mergeSessions(sessionsList);
+            }
+            storeSnapshot(snapshot, ConferenceSnapshot::writeSessions, new ArrayList<>(sessionsList));
+            sessionsRetrieved(retrieval);
+            if (onCompleted != null) {
+                onCompleted.run();
+            }
         });
+    }
+
+    /**
+     * Applies the retrieved sessions to the published ones: sessions that are no longer
+     * available are removed, new ones are added, and existing ones are merged in place.
+     * Only the sessions that actually changed are replaced in the list, so list listeners
+     * process a few small changes instead of a full rebuild.
+     */
+    private void mergeSessions(List<Session> retrievedSessions) {
+        Map<String, Session> retrievedByTalkId = new LinkedHashMap<>();
+        for (Session session : retrievedSessions) {
+            if (session.getTalk() != null && session.getTalk().getId() != null) {
+                retrievedByTalkId.put(session.getTalk().getId(), session);
+            }
+        }
 
-        sessions.set(sessionsList);
+        List<Session> removedSessions = new ArrayList<>();
+        int changed = 0;
+        for (int i = 0; i < sessions.size(); i++) {
+            Session session = sessions.get(i);
+            Session retrievedSession = session.getTalk() == null ? null : retrievedByTalkId.remove(session.getTalk().getId());
+            if (retrievedSession == null) {
+                removedSessions.add(session);
+            } else if (session.merge(retrievedSession)) {
+                // notify listeners that the session has been updated
+                sessions.set(i, session);
+                changed++;
+            }
+        }
+        if (!removedSessions.isEmpty()) {
+            sessions.removeAll(removedSessions);
+        }
+        if (!retrievedByTalkId.isEmpty()) {
+            sessions.addAll(retrievedByTalkId.values());
+        }
+        LOG.log(Level.INFO, "Merged sessions: " + retrievedByTalkId.size() + " added, " +
+                removedSessions.size() + " removed, " + changed + " changed");
     }
 
     @Override
@@ -463,52 +746,302 @@ public class DevoxxService implements Service {
         return speakers.getReadOnlyProperty();
     }
 
-    private void retrieveSpeakersInternal() {
-        // if a retrieval is ongoing, don't initiate again
-        if (!retrievingSpeakers.compareAndSet(false, true)) {
-            LOG.log(Level.FINE, "Already retrieving speakers from cfp, just return.");
+    /**
+     * Retrieves the speakers of the selected conference, publishing a stored snapshot first when available.
+     *
+     * @param onLoaded called once speakers have been published, or when they couldn't be retrieved
+     */
+    private void retrieveSpeakersInternal(Runnable onLoaded) {
+        final Conference conference = getConference();
+        // if a retrieval is ongoing for this conference, don't initiate again
+        if (speakersRetrieval != null && speakersRetrieval.isFor(conference)) {
+            LOG.log(Level.FINE, "Already retrieving speakers from cfp, wait for it.");
+            speakersRetrieval.waiters.add(onLoaded);
             return;
         }
+        final Retrieval retrieval = new Retrieval(conference);
+        speakersRetrieval = retrieval;
 
         speakers.clear();
 
+        final Runnable loaded = runOnce(() -> {
+            onLoaded.run();
+            retrieval.runWaiters();
+        });
+        final ConferenceSnapshot snapshot = ConferenceSnapshot.of(rootDir, conference);
+        if (snapshot == null || !snapshot.hasSpeakers()) {
+            fetchSpeakers(retrieval, snapshot, loaded);
+            return;
+        }
+
+        // publish the stored speakers right away, and revalidate them afterwards
+        Task<List<Speaker>> task = new Task<List<Speaker>>() {
+            @Override
+            protected List<Speaker> call() throws IOException {
+                return snapshot.readSpeakers();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (retrieval == speakersRetrieval) {
+                LOG.log(Level.INFO, "Loaded " + task.getValue().size() + " speakers from snapshot");
+                speakers.setAll(task.getValue());
+                loaded.run();
+            }
+            fetchSpeakers(retrieval, snapshot, loaded);
+        });
+        task.setOnFailed(e -> {
+            LOG.log(Level.WARNING, "Failed to read speakers snapshot", e.getSource().getException());
+            fetchSpeakers(retrieval, snapshot, loaded);
+        });
+        snapshotExecutor.execute(task);
+    }
+
+    private void fetchSpeakers(Retrieval retrieval, ConferenceSnapshot snapshot, Runnable onCompleted) {
+        final Conference conference = retrieval.conference;
         RemoteFunctionList fnSpeakers = RemoteFunctionBuilder.create("speakers")
                 .param("cfpEndpoint", getCfpURL())
-                .param("conferenceId", getConference().getCfpVersion())
+                .param("conferenceId", conference.getCfpVersion())
                 .list();
 
         GluonObservableList<Speaker> speakersList = fnSpeakers.call(Speaker.class);
         speakersList.setOnFailed(e -> {
-            retrievingSpeakers.set(false);
             LOG.log(Level.WARNING, String.format(REMOTE_FUNCTION_FAILED_MSG, "speakers"), e.getSource().getException());
+            speakersRetrieved(retrieval);
+            onCompleted.run();
         });
-        speakersList.setOnSucceeded(e -> { 
-            speakers.setAll(speakersList);
-            retrievingSpeakers.set(false);
+        speakersList.setOnSucceeded(e -> {
+            if (retrieval == speakersRetrieval) {
+                mergeSpeakers(speakersList);
+                storeSnapshot(snapshot, ConferenceSnapshot::writeSpeakers, new ArrayList<>(speakers));
+            }
+            speakersRetrieved(retrieval);
+            onCompleted.run();
         });
     }
 
-    @Override
-    public ReadOnlyObjectProperty<Speaker> retrieveSpeaker(String uuid) {
-        Speaker speakerWithUuid = null;
-        for (Speaker speaker : speakers) {
-            if (uuid.equals(speaker.getUuid())) {
-                speakerWithUuid = speaker;
-                break;
+    /**
+     * Applies the retrieved speakers to the published ones, by uuid: speakers that are no
+     * longer available are removed, new ones are added, and existing ones are merged in place.
+     * The published instances are kept, so the details that were merged into them survive a
+     * revalidation with the speakers list, which leaves the details out.
+     */
+    private void mergeSpeakers(List<Speaker> retrievedSpeakers) {
+        if (speakers.isEmpty()) {
+            speakers.setAll(retrievedSpeakers);
+            return;
+        }
+        Map<String, Speaker> retrievedByUuid = new LinkedHashMap<>();
+        for (Speaker speaker : retrievedSpeakers) {
+            if (speaker.getUuid() != null) {
+                retrievedByUuid.put(speaker.getUuid(), speaker);
+            }
+        }
+
+        List<Speaker> removedSpeakers = new ArrayList<>();
+        int changed = 0;
+        for (int i = 0; i < speakers.size(); i++) {
+            Speaker speaker = speakers.get(i);
+            Speaker retrievedSpeaker = retrievedByUuid.remove(speaker.getUuid());
+            if (retrievedSpeaker == null) {
+                removedSpeakers.add(speaker);
+                continue;
+            }
+            boolean merged;
+            if (retrievedSpeaker.getAcceptedTalks() == null) {
+                merged = speaker.mergeSummary(retrievedSpeaker);
+            } else {
+                merged = speaker.merge(retrievedSpeaker);
+                speaker.setDetailsRetrieved(true);
+            }
+            if (merged) {
+                // notify listeners that the speaker has been updated
+                speakers.set(i, speaker);
+                changed++;
+            }
+        }
+        if (!removedSpeakers.isEmpty()) {
+            speakers.removeAll(removedSpeakers);
+        }
+        if (!retrievedByUuid.isEmpty()) {
+            speakers.addAll(retrievedByUuid.values());
+        }
+        LOG.log(Level.INFO, "Merged speakers: " + retrievedByUuid.size() + " added, " +
+                removedSpeakers.size() + " removed, " + changed + " changed");
+    }
+
+    /**
+     * Retrieves the sessions and speakers of the selected conference with a single request,
+     * publishing a stored snapshot first when available. The hash of the stored bundle is sent
+     * along, so the bundle isn't downloaded again when it didn't change. When the bundle can't
+     * be retrieved, the sessions and speakers are retrieved with their own remote functions.
+     *
+     * @param onLoaded called once sessions and speakers have been published, or when they couldn't be retrieved
+     */
+    private void retrieveConferenceBundle(Runnable onLoaded) {
+        final Conference conference = getConference();
+        // if a retrieval is ongoing for this conference, don't initiate again
+        if (sessionsRetrieval != null && sessionsRetrieval.isFor(conference)) {
+            LOG.log(Level.FINE, "Already retrieving sessions from cfp, wait for it.");
+            sessionsRetrieval.waiters.add(onLoaded);
+            return;
+        }
+        final Retrieval retrieval = new Retrieval(conference);
+        final Retrieval speakerRetrieval = new Retrieval(conference);
+        sessionsRetrieval = retrieval;
+        speakersRetrieval = speakerRetrieval;
+
+        sessions.clear();
+        speakers.clear();
+
+        final Runnable loaded = runOnce(() -> {
+            onLoaded.run();
+            retrieval.runWaiters();
+            speakerRetrieval.runWaiters();
+        });
+        final ConferenceSnapshot snapshot = ConferenceSnapshot.of(rootDir, conference);
+        if (snapshot == null) {
+            fetchConferenceBundle(retrieval, speakerRetrieval, null, null, loaded);
+            return;
+        }
+
+        // publish the stored bundle right away, and revalidate it afterwards
+        Task<ConferenceBundle> task = new Task<ConferenceBundle>() {
+            @Override
+            protected ConferenceBundle call() throws IOException {
+                String hash = snapshot.readBundleHash();
+                if (hash == null) {
+                    return null;
+                }
+                List<Session> snapshotSessions = snapshot.readSessions();
+                SessionTimeNormalizer.normalize(snapshotSessions, conference);
+                return new ConferenceBundle(hash, false, snapshotSessions, snapshot.readSpeakers());
+            }
+        };
+        task.setOnSucceeded(e -> {
+            ConferenceBundle stored = task.getValue();
+            if (stored != null && retrieval == sessionsRetrieval) {
+                LOG.log(Level.INFO, "Loaded " + stored.sessions.size() + " sessions and " + stored.speakers.size() + " speakers from snapshot");
+                sessions.setAll(stored.sessions);
+                speakers.setAll(stored.speakers);
+                loaded.run();
+            }
+            fetchConferenceBundle(retrieval, speakerRetrieval, snapshot, stored == null ? null : stored.hash, loaded);
+        });
+        task.setOnFailed(e -> {
+            LOG.log(Level.WARNING, "Failed to read conference bundle snapshot", e.getSource().getException());
+            fetchConferenceBundle(retrieval, speakerRetrieval, snapshot, null, loaded);
+        });
+        snapshotExecutor.execute(task);
+    }
+
+    private void fetchConferenceBundle(Retrieval retrieval, Retrieval speakerRetrieval, ConferenceSnapshot snapshot, String hash, Runnable onCompleted) {
+        final Conference conference = retrieval.conference;
+        RemoteFunctionObject fnBundle = RemoteFunctionBuilder.create("conferenceBundle")
+                .param("cfpEndpoint", getCfpURL())
+                .param("conferenceId", conference.getCfpVersion())
+                .param("hash", hash == null ? "" : hash)
+                .param("encoding", "gzip")
+                .object();
+
+        GluonObservableObject<ConferenceBundle> bundle = fnBundle.call(new ConferenceBundleConverter(conference));
+        bundle.setOnFailed(e -> {
+            LOG.log(Level.WARNING, String.format(REMOTE_FUNCTION_FAILED_MSG, "conferenceBundle"), e.getSource().getException());
+            if (retrieval != sessionsRetrieval) {
+                sessionsRetrieved(retrieval);
+                speakersRetrieved(speakerRetrieval);
+                return;
+            }
+            // fall back to the separate remote functions, the stage is done when both have completed
+            AtomicInteger remaining = new AtomicInteger(2);
+            Runnable completed = () -> {
+                if (remaining.decrementAndGet() == 0) {
+                    onCompleted.run();
+                }
+            };
+            fetchSessions(retrieval, snapshot, sessions.isEmpty(), completed);
+            fetchSpeakers(speakerRetrieval, snapshot, completed);
+        });
+        bundle.setOnSucceeded(e -> {
+            if (retrieval != sessionsRetrieval) {
+                sessionsRetrieved(retrieval);
+                speakersRetrieved(speakerRetrieval);
+                return;
+            }
+            ConferenceBundle retrieved = bundle.get();
+            if (retrieved.unchanged) {
+                LOG.log(Level.INFO, "Conference bundle " + retrieved.hash + " didn't change");
+            } else {
+                if (sessions.isEmpty()) {
+                    sessions.setAll(retrieved.sessions);
+                } else {
+                    mergeSessions(retrieved.sessions);
+                }
+                mergeSpeakers(retrieved.speakers);
+                storeConferenceBundle(snapshot, new ConferenceBundle(retrieved.hash, false, retrieved.sessions, new ArrayList<>(speakers)));
             }
+            sessionsRetrieved(retrieval);
+            speakersRetrieved(speakerRetrieval);
+            onCompleted.run();
+        });
+    }
+
+    private void storeConferenceBundle(ConferenceSnapshot snapshot, ConferenceBundle bundle) {
+        if (snapshot == null || bundle.hash == null) {
+            return;
         }
+        // the hash is only stored once the sessions and speakers it stands for have been stored
+        snapshotExecutor.execute(() -> {
+            try {
+                snapshot.writeSessions(bundle.sessions);
+                snapshot.writeSpeakers(bundle.speakers);
+                snapshot.writeBundleHash(bundle.hash);
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Failed to store snapshot", ex);
+            }
+        });
+    }
+
+    @Override
+    public void retrieveSessionDetails(Session session) {
+        final Talk talk = session.getTalk();
+        if (talk == null || talk.getId() == null || talk.isDetailsRetrieved() || !retrievingTalkDetails.add(talk.getId())) {
+            return;
+        }
+
+        RemoteFunctionObject fnTalk = RemoteFunctionBuilder.create("talk")
+                .param("cfpEndpoint", getCfpURL())
+                .param("conferenceId", getConference().getCfpVersion())
+                .param("talkId", talk.getId())
+                .object();
+        GluonObservableObject<Talk> talkDetails = fnTalk.call(Talk.class);
+        talkDetails.setOnSucceeded(e -> {
+            retrievingTalkDetails.remove(talk.getId());
+            Talk retrievedTalk = talkDetails.get();
+            if (retrievedTalk != null) {
+                retrievedTalk.setDetailsRetrieved(true);
+                talk.merge(retrievedTalk);
+            }
+        });
+        talkDetails.setOnFailed(e -> {
+            retrievingTalkDetails.remove(talk.getId());
+            LOG.log(Level.WARNING, String.format(REMOTE_FUNCTION_FAILED_MSG, "talk"), e.getSource().getException());
+        });
+    }
+
+    @Override
+    public Optional<Speaker> findSpeaker(String uuid) {
+        return Optional.ofNullable(uuid == null ? null : speakersByUuid.get(uuid));
+    }
+
+    @Override
+    public ReadOnlyObjectProperty<Speaker> retrieveSpeaker(String uuid) {
+        Speaker speakerWithUuid = findSpeaker(uuid).orElse(null);
 
         if (speakerWithUuid != null) {
             if (speakerWithUuid.isDetailsRetrieved()) {
                 return new ReadOnlyObjectWrapper<>(speakerWithUuid).getReadOnlyProperty();
             } else {
-                RemoteFunctionObject fnSpeaker = RemoteFunctionBuilder.create("speaker")
-                        .param("cfpEndpoint", getCfpURL())
-                        .param("conferenceId", getConference().getCfpVersion())
-                        .param("uuid", uuid)
-                        .object();
-
-                GluonObservableObject<Speaker> gluonSpeaker = fnSpeaker.call(Speaker.class);
+                GluonObservableObject<Speaker> gluonSpeaker = fetchSpeakerDetails(uuid);
                 gluonSpeaker.setOnSucceeded(e -> {
                     updateSpeakerDetails(gluonSpeaker.get());
                 });
@@ -520,6 +1053,15 @@ public class DevoxxService implements Service {
         return new ReadOnlyObjectWrapper<>();
     }
 
+    private GluonObservableObject<Speaker> fetchSpeakerDetails(String uuid) {
+        RemoteFunctionObject fnSpeaker = RemoteFunctionBuilder.create("speaker")
+                .param("cfpEndpoint", getCfpURL())
+                .param("conferenceId", getConference().getCfpVersion())
+                .param("uuid", uuid)
+                .object();
+        return fnSpeaker.call(Speaker.class);
+    }
+
     private String getCfpURL() {
         final String cfpURL = getConference().getCfpURL();
         if (cfpURL == null) return "";
@@ -535,22 +1077,48 @@ public class DevoxxService implements Service {
         return cfpURL + "/api";
     }
 
+    /**
+     * Retrieves the details of all speakers of the selected conference with a single request.
+     * The speakers whose details are missing from the response, or all of them when the
+     * request fails, are prefetched one by one afterwards.
+     */
+    private void retrieveSpeakersWithDetails() {
+        final Conference conference = getConference();
+        RemoteFunctionList fnSpeakersWithDetails = RemoteFunctionBuilder.create("speakersWithDetails")
+                .param("cfpEndpoint", getCfpURL())
+                .param("conferenceId", conference.getCfpVersion())
+                .list();
+
+        GluonObservableList<Speaker> speakersWithDetails = fnSpeakersWithDetails.call(Speaker.class);
+        speakersWithDetails.setOnFailed(e -> {
+            LOG.log(Level.WARNING, String.format(REMOTE_FUNCTION_FAILED_MSG, "speakersWithDetails"), e.getSource().getException());
+            if (conference.equals(getConference())) {
+                speakerPrefetcher.start(speakers);
+            }
+        });
+        speakersWithDetails.setOnSucceeded(e -> {
+            if (!conference.equals(getConference())) {
+                return;
+            }
+            for (Speaker speaker : speakersWithDetails) {
+                // speakers without accepted talks only have the summary of the speakers list
+                if (speaker.getUuid() != null && speaker.getAcceptedTalks() != null) {
+                    updateSpeakerDetails(speaker);
+                }
+            }
+            // keep the details for the next start
+            storeSnapshot(ConferenceSnapshot.of(rootDir, conference), ConferenceSnapshot::writeSpeakers, new ArrayList<>(speakers));
+            speakerPrefetcher.start(speakers);
+        });
+    }
+
     private void updateSpeakerDetails(Speaker updatedSpeaker) {
-        for (Speaker speaker : speakers) {
-            if (speaker.getUuid().equals(updatedSpeaker.getUuid())) {
-                speaker.setAcceptedTalks(updatedSpeaker.getAcceptedTalks());
-                speaker.setAvatarURL(updatedSpeaker.getAvatarURL());
-                speaker.setBio(updatedSpeaker.getBio());
-                speaker.setBioAsHtml(updatedSpeaker.getBioAsHtml());
-                speaker.setBlog(updatedSpeaker.getBlog());
-                speaker.setCompany(updatedSpeaker.getCompany());
-                speaker.setFirstName(updatedSpeaker.getFirstName());
-                speaker.setLang(updatedSpeaker.getLang());
-                speaker.setLastName(updatedSpeaker.getLastName());
-                speaker.setTwitter(updatedSpeaker.getTwitter());
-                speaker.setDetailsRetrieved(true);
+        findSpeaker(updatedSpeaker.getUuid()).ifPresent(speaker -> {
+            if (speaker.merge(updatedSpeaker)) {
+                LOG.log(Level.FINE, "Details updated for speaker " + speaker.getUuid());
             }
-        }
+            speaker.setDetailsRetrieved(true);
+        });
     }
 
     @Override
@@ -561,6 +1129,9 @@ public class DevoxxService implements Service {
     private void retrieveTracksInternal() {
         if (getConference() != null && getConference().getTracks() != null) {
             tracks.setAll(getConference().getTracks());
+            storeSnapshot(ConferenceSnapshot.of(rootDir, getConference()), ConferenceSnapshot::writeTracks, new ArrayList<>(tracks));
+        } else {
+            readSnapshot(ConferenceSnapshot.of(rootDir, getConference()), ConferenceSnapshot::readTracks, tracks);
         }
     }
 
@@ -582,12 +1153,58 @@ public class DevoxxService implements Service {
                 }
             }
             sessionTypes.setAll(types);
+            storeSnapshot(ConferenceSnapshot.of(rootDir, getConference()), ConferenceSnapshot::writeSessionTypes, new ArrayList<>(types));
+        } else {
+            readSnapshot(ConferenceSnapshot.of(rootDir, getConference()), ConferenceSnapshot::readSessionTypes, sessionTypes);
+        }
+    }
+
+    private <T> void storeSnapshot(ConferenceSnapshot snapshot, SnapshotWriter<T> writer, List<T> items) {
+        if (snapshot == null) {
+            return;
+        }
+        snapshotExecutor.execute(() -> {
+            try {
+                writer.write(snapshot, items);
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Failed to store snapshot", ex);
+            }
+        });
+    }
+
+    private <T> void readSnapshot(ConferenceSnapshot snapshot, SnapshotReader<T> reader, ObservableList<T> target) {
+        if (snapshot == null) {
+            return;
         }
+        final Conference conference = getConference();
+        Task<List<T>> task = new Task<List<T>>() {
+            @Override
+            protected List<T> call() throws IOException {
+                return reader.read(snapshot);
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (conference.equals(getConference()) && !task.getValue().isEmpty()) {
+                target.setAll(task.getValue());
+            }
+        });
+        task.setOnFailed(e -> LOG.log(Level.WARNING, "Failed to read snapshot", e.getSource().getException()));
+        snapshotExecutor.execute(task);
+    }
+
+    @FunctionalInterface
+    private interface SnapshotWriter<T> {
+        void write(ConferenceSnapshot snapshot, List<T> items) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SnapshotReader<T> {
+        List<T> read(ConferenceSnapshot snapshot) throws IOException;
     }
 
     @Override
     public ReadOnlyListProperty<Exhibitor> retrieveExhibitors() {
-        return new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
+        return exhibitors.getReadOnlyProperty();
     }
 
     @Override
@@ -595,7 +1212,7 @@ public class DevoxxService implements Service {
         return exhibitionMaps.getReadOnlyProperty();
     }
 
-    private void retrieveExhibitionMapsInternal() {
+    private void retrieveExhibitionMapsInternal(Runnable onLoaded) {
         Task<List<Floor>> task = new Task<List<Floor>>() {
             @Override
             protected List<Floor> call() {
@@ -611,7 +1228,14 @@ public class DevoxxService implements Service {
             }
         };
 
-        task.setOnSucceeded(event -> exhibitionMaps.setAll(task.getValue()));
+        task.setOnSucceeded(event -> {
+            exhibitionMaps.setAll(task.getValue());
+            onLoaded.run();
+        });
+        task.setOnFailed(event -> {
+            LOG.log(Level.WARNING, "Failed to retrieve exhibition maps", event.getSource().getException());
+            onLoaded.run();
+        });
 
         Thread retrieveExhibitionMapsThread = new Thread(task);
         retrieveExhibitionMapsThread.setDaemon(true);
@@ -664,7 +1288,8 @@ public class DevoxxService implements Service {
             for (SessionId sessionId : functionSessions.get().getFavored()) {
                 findSession(sessionId.getId()).ifPresent(internalFavoredSessions::add);
             }
-            internalFavoredSessionsListener = initializeSessionsListener(internalFavoredSessions, "favored");
+            applyUnsentChanges(internalFavoredSessions, FAVORED);
+            internalFavoredSessionsListener = initializeSessionsListener(internalFavoredSessions, FAVORED);
             ready.set(true);
             onStateSucceeded.run();
         });
@@ -673,31 +1298,43 @@ public class DevoxxService implements Service {
         return internalFavoredSessions;
     }
 
+    /**
+     * Applies the changes of a session list that haven't been sent yet, e.g. because they were
+     * made offline, to the list as it was retrieved.
+     */
+    private void applyUnsentChanges(ObservableList<Session> sessions, String functionPrefix) {
+        if (sessionListWriteQueue == null) {
+            return;
+        }
+        for (SessionListWriteQueue.Operation operation : sessionListWriteQueue.getUnsent(functionPrefix, getCfpURL(), cfpUserUuid.get())) {
+            boolean listed = sessions.stream().anyMatch(session -> operation.talkId.equals(session.getTalk().getId()));
+            if (operation.add && !listed) {
+                findSession(operation.talkId).ifPresent(sessions::add);
+            } else if (!operation.add && listed) {
+                sessions.removeIf(session -> operation.talkId.equals(session.getTalk().getId()));
+            }
+        }
+    }
+
     private ListChangeListener<Session> initializeSessionsListener(ObservableList<Session> sessions, String functionPrefix) {
         ListChangeListener<Session> listChangeListener = c -> {
             while (c.next()) {
                 if (c.wasRemoved()) {
                     for (Session session : c.getRemoved()) {
                         LOG.log(Level.INFO, "Removing Session: " + session.getTalk().getId() + " / " + session.getTitle());
-                        RemoteFunctionObject fnRemove = RemoteFunctionBuilder.create(functionPrefix + "Remove")
-                                .param("0", getCfpURL())
-                                .param("1", cfpUserUuid.get())
-                                .param("2", session.getTalk().getId())
-                                .object();
-                        GluonObservableObject<String> response = fnRemove.call(String.class);
-                        response.setOnFailed(e -> LOG.log(Level.WARNING, "Failed to remove session " + session.getTalk().getId() + " from " + functionPrefix + ": " + response.getException().getMessage()));
+                        sessionListWriteQueue.enqueue(functionPrefix, getCfpURL(), cfpUserUuid.get(), session.getTalk().getId(), false);
+                        if (FAVORED.equals(functionPrefix)) {
+                            favoriteCounts.changeLocally(session.getTalk().getId(), -1);
+                        }
                     }
                 }
                 if (c.wasAdded()) {
                     for (Session session : c.getAddedSubList()) {
                         LOG.log(Level.INFO, "Adding Session: " + session.getTalk().getId() + " / " + session.getTitle());
-                        RemoteFunctionObject fnAdd = RemoteFunctionBuilder.create(functionPrefix + "Add")
-                                .param("0", getCfpURL())
-                                .param("1", cfpUserUuid.get())
-                                .param("2", session.getTalk().getId())
-                                .object();
-                        GluonObservableObject<String> response = fnAdd.call(String.class);
-                        response.setOnFailed(e -> LOG.log(Level.WARNING, "Failed to add session " + session.getTalk().getId() + " to " + functionPrefix + ": " + response.getException().getMessage()));
+                        sessionListWriteQueue.enqueue(functionPrefix, getCfpURL(), cfpUserUuid.get(), session.getTalk().getId(), true);
+                        if (FAVORED.equals(functionPrefix)) {
+                            favoriteCounts.changeLocally(session.getTalk().getId(), 1);
+                        }
                     }
                 }
             }
@@ -812,32 +1449,42 @@ public class DevoxxService implements Service {
 
     @Override
     public ObservableList<Favorite> retrieveFavorites() {
-        return favorites;
+        return favoriteCounts.getFavorites();
+    }
+
+    @Override
+    public Favorite retrieveFavorite(String talkId) {
+        return favoriteCounts.get(talkId);
     }
 
     @Override
     public void refreshFavorites() {
         if (getConference() != null && DevoxxSettings.conferenceHasFavoriteCount(getConference()) && 
                 (allFavorites.getState() == ConnectState.SUCCEEDED || allFavorites.getState() == ConnectState.FAILED)) {
+            if (!favoriteCounts.isRefreshDue(System.currentTimeMillis())) {
+                LOG.log(Level.FINE, "Favorite counts were refreshed recently, skip refresh.");
+                return;
+            }
+
+            final Conference conference = getConference();
+            final long requestedAt = System.currentTimeMillis();
             RemoteFunctionObject fnAllFavorites = RemoteFunctionBuilder.create("allFavorites")
                     .param("0", getCfpURL())
                     .object();
             allFavorites = fnAllFavorites.call(new JsonInputConverter<>(Favorites.class));
             allFavorites.setOnSucceeded(e -> {
-                for (Favorite favorite : allFavorites.get().getFavorites()) {
-                    int index = 0;
-                    for (; index < favorites.size(); index++) {
-                        if (favorites.get(index).getId().equals(favorite.getId())) {
-                            favorites.get(index).setFavs(favorite.getFavs());
-                            break;
-                        }
-                    }
-                    if (index == favorites.size()) {
-                        favorites.add(favorite);
-                    }
+                if (conference.equals(getConference())) {
+                    int changed = favoriteCounts.merge(allFavorites.get().getFavorites(), requestedAt);
+                    favoriteCounts.refreshed(System.currentTimeMillis(), changed);
+                    LOG.log(Level.FINE, "Refreshed favorite counts, " + changed + " changed");
                 }
                 allFavorites.setOnSucceeded(null);
             });
+            allFavorites.setOnFailed(e -> {
+                // retry after the minimum interval
+                favoriteCounts.refreshed(System.currentTimeMillis(), 1);
+                LOG.log(Level.WARNING, String.format(REMOTE_FUNCTION_FAILED_MSG, "allFavorites"), e.getSource().getException());
+            });
         }
     }
     
@@ -882,41 +1529,57 @@ public class DevoxxService implements Service {
     }
 
     private void loadCfpAccount(User user, Runnable successRunnable) {
-        if (cfpUserUuid.isEmpty().get()) {
-            Services.get(SettingsService.class).ifPresent(settingsService -> {
-                String devoxxCfpAccountUuid = settingsService.retrieve(DevoxxSettings.SAVED_ACCOUNT_ID);
-                if (devoxxCfpAccountUuid == null) {
-                    if (user.getLoginMethod() == LoginMethod.Type.CUSTOM) {
-                        LOG.log(Level.INFO, "Logged in user " + user + " as account with uuid " + user.getNetworkId());
-                        cfpUserUuid.set(user.getNetworkId());
-                        settingsService.store(DevoxxSettings.SAVED_ACCOUNT_ID, user.getNetworkId());
-
-                        if (successRunnable != null) {
-                            successRunnable.run();
-                        }
-                    } else {
-                        RemoteFunctionObject fnVerifyAccount = RemoteFunctionBuilder.create("verifyAccount")
-                                .param("0", getCfpURL())
-                                .param("1", user.getNetworkId())
-                                .param("2", user.getLoginMethod().name())
-                                .param("3", user.getEmail())
-                                .object();
-                        GluonObservableObject<String> accountUuid = fnVerifyAccount.call(String.class);
-                        accountUuid.setOnSucceeded(e -> {
-                            LOG.log(Level.INFO, "Verified user " + user + " as account with uuid " + accountUuid);
-                            cfpUserUuid.set(accountUuid.get());
-                            settingsService.store(DevoxxSettings.SAVED_ACCOUNT_ID, accountUuid.get());
-
-                            if (successRunnable != null) {
-                                successRunnable.run();
-                            }
-                        });
-                    }
-                } else {
-                    LOG.log(Level.INFO, "Verified user " + user + " retrieved from settings " + devoxxCfpAccountUuid);
-                    cfpUserUuid.set(devoxxCfpAccountUuid);
-                }
-            });
+        loadCfpAccount(user, successRunnable, null);
+    }
+
+    /**
+     * Finds the CFP account of the user. One of the runnables is always run: the success
+     * runnable once the account is known, the failure runnable when it can't be found.
+     */
+    private void loadCfpAccount(User user, Runnable successRunnable, Runnable failureRunnable) {
+        final Runnable onSuccess = successRunnable == null ? () -> {} : successRunnable;
+        final Runnable onFailure = failureRunnable == null ? () -> {} : failureRunnable;
+        if (cfpUserUuid.isNotEmpty().get()) {
+            onSuccess.run();
+            return;
+        }
+        Optional<SettingsService> settings = Services.get(SettingsService.class);
+        if (!settings.isPresent()) {
+            LOG.log(Level.WARNING, "No settings service to store the account of user " + user);
+            onFailure.run();
+            return;
+        }
+        SettingsService settingsService = settings.get();
+        String devoxxCfpAccountUuid = settingsService.retrieve(DevoxxSettings.SAVED_ACCOUNT_ID);
+        if (devoxxCfpAccountUuid == null) {
+            if (user.getLoginMethod() == LoginMethod.Type.CUSTOM) {
+                LOG.log(Level.INFO, "Logged in user " + user + " as account with uuid " + user.getNetworkId());
+                cfpUserUuid.set(user.getNetworkId());
+                settingsService.store(DevoxxSettings.SAVED_ACCOUNT_ID, user.getNetworkId());
+                onSuccess.run();
+            } else {
+                RemoteFunctionObject fnVerifyAccount = RemoteFunctionBuilder.create("verifyAccount")
+                        .param("0", getCfpURL())
+                        .param("1", user.getNetworkId())
+                        .param("2", user.getLoginMethod().name())
+                        .param("3", user.getEmail())
+                        .object();
+                GluonObservableObject<String> accountUuid = fnVerifyAccount.call(String.class);
+                accountUuid.setOnSucceeded(e -> {
+                    LOG.log(Level.INFO, "Verified user " + user + " as account with uuid " + accountUuid);
+                    cfpUserUuid.set(accountUuid.get());
+                    settingsService.store(DevoxxSettings.SAVED_ACCOUNT_ID, accountUuid.get());
+                    onSuccess.run();
+                });
+                accountUuid.setOnFailed(e -> {
+                    LOG.log(Level.WARNING, String.format(REMOTE_FUNCTION_FAILED_MSG, "verifyAccount"), e.getSource().getException());
+                    onFailure.run();
+                });
+            }
+        } else {
+            LOG.log(Level.INFO, "Verified user " + user + " retrieved from settings " + devoxxCfpAccountUuid);
+            cfpUserUuid.set(devoxxCfpAccountUuid);
+            onSuccess.run();
         }
     }
 
@@ -988,8 +1651,31 @@ public class DevoxxService implements Service {
         return (JsonObject) reader.read();
     }
 
-    private static ZonedDateTime timeToZonedDateTime(long time, ZoneId zoneId) {
-        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), zoneId);
+    /**
+     * Ends the given sessions retrieval, unless the retrieval of another conference superseded it,
+     * and runs the callbacks that waited for it.
+     */
+    private void sessionsRetrieved(Retrieval retrieval) {
+        if (retrieval == sessionsRetrieval) {
+            sessionsRetrieval = null;
+        }
+        retrieval.runWaiters();
+    }
+
+    private void speakersRetrieved(Retrieval retrieval) {
+        if (retrieval == speakersRetrieval) {
+            speakersRetrieval = null;
+        }
+        retrieval.runWaiters();
+    }
+
+    private static Runnable runOnce(Runnable runnable) {
+        AtomicBoolean done = new AtomicBoolean(false);
+        return () -> {
+            if (done.compareAndSet(false, true)) {
+                runnable.run();
+            }
+        };
     }
 
     private boolean isNumber(String string) {
@@ -1033,4 +1719,28 @@ public class DevoxxService implements Service {
             f.delete();
         }
     }
+
+    /**
+     * An ongoing retrieval of the sessions or speakers of a conference, with the callbacks of the
+     * retrievals that found it ongoing, run once it published its data or completed.
+     */
+    private static class Retrieval {
+
+        private final Conference conference;
+        private final List<Runnable> waiters = new ArrayList<>();
+
+        private Retrieval(Conference conference) {
+            this.conference = conference;
+        }
+
+        private boolean isFor(Conference conference) {
+            return this.conference.equals(conference);
+        }
+
+        private void runWaiters() {
+            List<Runnable> ready = new ArrayList<>(waiters);
+            waiters.clear();
+            ready.forEach(Runnable::run);
+        }
+    }
 }
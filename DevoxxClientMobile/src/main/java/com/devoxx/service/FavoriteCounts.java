@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.devoxx.model.Favorite;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the favorite counters of the talks of the selected conference, keyed by talk id.
+ *
+ * Counters are created on first lookup and updated in place, so a view that binds to the
+ * counter of a talk follows every refresh. The store also decides when a refresh is due:
+ * while the counters keep changing they are fetched at most every {@link #MIN_REFRESH_INTERVAL},
+ * and every refresh that doesn't change anything doubles the interval, up to
+ * {@link #MAX_REFRESH_INTERVAL}.
+ *
+ * Changes of the user are shown right away. They are kept as local changes on top of the
+ * counts of the server until a refresh that was requested after they were sent, so a refresh
+ * that doesn't include them yet doesn't undo them.
+ *
+ * The store is not thread safe, and is meant to be used from the JavaFX Application thread.
+ */
+class FavoriteCounts {
+
+    static final long MIN_REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    static final long MAX_REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    private final Map<String, Favorite> favoritesById = new HashMap<>();
+    private final ObservableList<Favorite> favorites = FXCollections.observableArrayList();
+    private final Map<String, LocalChange> localChanges = new HashMap<>();
+
+    private long lastRefresh;
+    private long refreshInterval = MIN_REFRESH_INTERVAL;
+
+    ObservableList<Favorite> getFavorites() {
+        return favorites;
+    }
+
+    /**
+     * Returns the counter of the given talk, adding an empty one when the talk has no counter yet.
+     */
+    Favorite get(String talkId) {
+        Favorite favorite = favoritesById.get(talkId);
+        if (favorite == null) {
+            favorite = new Favorite();
+            favorite.setId(talkId);
+            favoritesById.put(talkId, favorite);
+            favorites.add(favorite);
+        }
+        return favorite;
+    }
+
+    /**
+     * Applies a change of the user to the counter of the given talk, before it is sent.
+     */
+    void changeLocally(String talkId, int delta) {
+        localChanges.computeIfAbsent(talkId, id -> new LocalChange()).pending += delta;
+        Favorite favorite = get(talkId);
+        favorite.setFavs(Math.max(0, favorite.getFavs() + delta));
+    }
+
+    /**
+     * Records that the changes of the user to the counter of the given talk have been sent,
+     * and makes the next refresh due after {@link #MIN_REFRESH_INTERVAL} to pick them up.
+     */
+    void changeSent(String talkId, long now) {
+        LocalChange change = localChanges.get(talkId);
+        if (change != null) {
+            change.sent += change.pending;
+            change.pending = 0;
+            change.sentAt = now;
+        }
+        invalidate();
+    }
+
+    /**
+     * Updates the counters with the given values. Counters of talks that are not known yet
+     * are added in one batch. Local changes that were sent before the values were requested
+     * are assumed to be included, the other ones are applied on top of them.
+     *
+     * @param remoteFavorites the counters of the server
+     * @param requestedAt the time the counters were requested
+     * @return the number of counters that were added or changed
+     */
+    int merge(List<Favorite> remoteFavorites, long requestedAt) {
+        int changed = 0;
+        List<Favorite> added = new ArrayList<>();
+        for (Favorite remoteFavorite : remoteFavorites) {
+            String talkId = remoteFavorite.getId();
+            if (talkId == null) {
+                continue;
+            }
+            int favs = remoteFavorite.getFavs() + localDelta(talkId, requestedAt);
+            Favorite favorite = favoritesById.get(talkId);
+            if (favorite == null) {
+                remoteFavorite.setFavs(Math.max(0, favs));
+                favoritesById.put(talkId, remoteFavorite);
+                added.add(remoteFavorite);
+                changed++;
+            } else if (favorite.getFavs() != Math.max(0, favs)) {
+                favorite.setFavs(Math.max(0, favs));
+                changed++;
+            }
+        }
+        favorites.addAll(added);
+        return changed;
+    }
+
+    private int localDelta(String talkId, long requestedAt) {
+        LocalChange change = localChanges.get(talkId);
+        if (change == null) {
+            return 0;
+        }
+        if (change.sentAt != 0 && change.sentAt <= requestedAt) {
+            change.sent = 0;
+            change.sentAt = 0;
+        }
+        if (change.pending == 0 && change.sent == 0) {
+            localChanges.remove(talkId);
+        }
+        return change.pending + change.sent;
+    }
+
+    void clear() {
+        localChanges.clear();
+        favoritesById.clear();
+        favorites.clear();
+        lastRefresh = 0;
+        refreshInterval = MIN_REFRESH_INTERVAL;
+    }
+
+    /**
+     * Returns true if the interval since the previous refresh has passed.
+     */
+    boolean isRefreshDue(long now) {
+        return now - lastRefresh >= refreshInterval;
+    }
+
+    /**
+     * Records a completed refresh. The interval is reset when counters changed, and
+     * backs off when they didn't.
+     */
+    void refreshed(long now, int changed) {
+        lastRefresh = now;
+        refreshInterval = changed > 0 ? MIN_REFRESH_INTERVAL : Math.min(refreshInterval * 2, MAX_REFRESH_INTERVAL);
+    }
+
+    /**
+     * Makes the next refresh due after {@link #MIN_REFRESH_INTERVAL}, to be used when the
+     * counters are known to have changed on the server.
+     */
+    void invalidate() {
+        refreshInterval = MIN_REFRESH_INTERVAL;
+    }
+
+    private static class LocalChange {
+
+        // the change that hasn't been sent yet, and the change that was sent at sentAt
+        private int pending;
+        private int sent;
+        private long sentAt;
+    }
+}
@@ -49,6 +49,7 @@ import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.collections.ObservableList;
 
 import javax.inject.Singleton;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -117,6 +118,13 @@ public interface Service {
      */
     ReadOnlyListProperty<Speaker> retrieveSpeakers();
 
+    /**
+     * Retrieves the Speaker for a specific speaker uuid, without fetching its details.
+     * @param uuid The uuid of the speaker
+     * @return Speaker with the specific uuid
+     */
+    Optional<Speaker> findSpeaker(String uuid);
+
     /**
      * Returns a speaker detail for the specified UUID
      *
@@ -249,6 +257,20 @@ public interface Service {
      */
     Optional<Session> findSession(String uuid);
 
+    /**
+     * Retrieves the summary and tags of the talk of the given session, when they haven't
+     * been retrieved yet. The talk is updated in place.
+     * @param session The session
+     */
+    void retrieveSessionDetails(Session session);
+
+    /**
+     * Retrieves the Sessions in which a specific speaker participates.
+     * @param speakerUuid The uuid of the speaker
+     * @return An unmodifiable list of sessions of the speaker, empty if none is found
+     */
+    List<Session> findSessionsBySpeaker(String speakerUuid);
+
     void voteTalk(Vote vote);
 
     /**
@@ -257,6 +279,14 @@ public interface Service {
      */
     ObservableList<Favorite> retrieveFavorites();
 
+    /**
+     * Returns the favorite counter of the talk with the given id. An empty counter is added
+     * when the talk has no counter yet.
+     * @param talkId The id of the talk
+     * @return The favorite counter of the talk
+     */
+    Favorite retrieveFavorite(String talkId);
+
     /**
      * Updates the list of favorites from the data source.
      */
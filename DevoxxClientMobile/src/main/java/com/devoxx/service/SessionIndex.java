@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.devoxx.model.Link;
+import com.devoxx.model.Session;
+import com.devoxx.model.Talk;
+import com.devoxx.model.TalkSpeaker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps hash based lookup tables for the sessions of the selected conference, so
+ * that sessions can be found by talk id or speaker without scanning the complete
+ * list of sessions.
+ *
+ * The index is not thread safe, and is meant to be updated from the list change
+ * events of the sessions list, on the JavaFX Application thread.
+ */
+class SessionIndex {
+
+    private final Map<Session, IndexKeys> indexedKeys = new IdentityHashMap<>();
+    private final Map<String, Session> sessionsByTalkId = new HashMap<>();
+    private final Map<String, List<Session>> sessionsBySpeakerUuid = new HashMap<>();
+
+    void add(Session session) {
+        if (session == null) {
+            return;
+        }
+        // a session that is already indexed is indexed again with its current keys
+        remove(session);
+
+        IndexKeys keys = new IndexKeys(session);
+        indexedKeys.put(session, keys);
+        if (keys.talkId != null) {
+            sessionsByTalkId.put(keys.talkId, session);
+        }
+        for (String speakerUuid : keys.speakerUuids) {
+            addToGroup(sessionsBySpeakerUuid, speakerUuid, session);
+        }
+    }
+
+    void addAll(List<? extends Session> sessions) {
+        for (Session session : sessions) {
+            add(session);
+        }
+    }
+
+    void remove(Session session) {
+        if (session == null) {
+            return;
+        }
+        // use the keys the session was indexed with, as the session may have been merged since
+        IndexKeys keys = indexedKeys.remove(session);
+        if (keys == null) {
+            return;
+        }
+        if (keys.talkId != null) {
+            sessionsByTalkId.remove(keys.talkId, session);
+        }
+        for (String speakerUuid : keys.speakerUuids) {
+            removeFromGroup(sessionsBySpeakerUuid, speakerUuid, session);
+        }
+    }
+
+    void removeAll(List<? extends Session> sessions) {
+        for (Session session : sessions) {
+            remove(session);
+        }
+    }
+
+    void clear() {
+        indexedKeys.clear();
+        sessionsByTalkId.clear();
+        sessionsBySpeakerUuid.clear();
+    }
+
+    Optional<Session> findByTalkId(String talkId) {
+        return Optional.ofNullable(talkId == null ? null : sessionsByTalkId.get(talkId));
+    }
+
+    List<Session> findBySpeakerUuid(String speakerUuid) {
+        return getGroup(sessionsBySpeakerUuid, speakerUuid);
+    }
+
+    /**
+     * Extracts the uuid of a speaker from the link to the speaker resource in the CFP,
+     * which has the form {@code .../conferences/{conferenceId}/speakers/{uuid}}.
+     *
+     * @param talkSpeaker the speaker reference of a talk
+     * @return the uuid of the speaker, or null if the talk speaker has no valid link
+     */
+    static String getSpeakerUuid(TalkSpeaker talkSpeaker) {
+        if (talkSpeaker == null) {
+            return null;
+        }
+        Link link = talkSpeaker.getLink();
+        if (link != null && link.getHref() != null && !link.getHref().isEmpty()) {
+            return link.getHref().substring(link.getHref().lastIndexOf('/') + 1);
+        }
+        return null;
+    }
+
+    private static void addToGroup(Map<String, List<Session>> groups, String key, Session session) {
+        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(session);
+    }
+
+    private static void removeFromGroup(Map<String, List<Session>> groups, String key, Session session) {
+        List<Session> group = groups.get(key);
+        if (group != null) {
+            group.removeIf(s -> s == session);
+            if (group.isEmpty()) {
+                groups.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the group, which doesn't change when the index is updated afterwards.
+     */
+    private static List<Session> getGroup(Map<String, List<Session>> groups, String key) {
+        List<Session> group = key == null ? null : groups.get(key);
+        return group == null ? Collections.emptyList() : new ArrayList<>(group);
+    }
+
+    private static class IndexKeys {
+
+        private final String talkId;
+        private final List<String> speakerUuids = new ArrayList<>();
+
+        IndexKeys(Session session) {
+            Talk talk = session.getTalk();
+            talkId = talk != null ? talk.getId() : null;
+            if (talk != null && talk.getSpeakers() != null) {
+                for (TalkSpeaker talkSpeaker : talk.getSpeakers()) {
+                    String speakerUuid = getSpeakerUuid(talkSpeaker);
+                    if (speakerUuid != null) {
+                        speakerUuids.add(speakerUuid);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.gluonhq.connect.GluonObservableObject;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.stream.JsonGenerator;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends the changes of the user's session lists (e.g. favored sessions) to the remote
+ * functions in the background.
+ *
+ * Changes are collected for a short while before they are sent. An add and a remove of
+ * the same talk that haven't been sent yet cancel each other out. Pending changes are
+ * persisted in private storage, so they are sent again after a failure, an offline
+ * period or a restart of the application.
+ *
+ * The queue is not thread safe, and is meant to be used from the JavaFX Application thread.
+ */
+class SessionListWriteQueue {
+
+    private static final Logger LOG = Logger.getLogger(SessionListWriteQueue.class.getName());
+
+    private static final String PENDING_FILE = "pendingSessionLists.json";
+    private static final Duration DEBOUNCE_DELAY = Duration.seconds(2);
+    private static final Duration MIN_RETRY_DELAY = Duration.seconds(15);
+    private static final Duration MAX_RETRY_DELAY = Duration.minutes(5);
+    private static final int MAX_BATCH_SIZE = 10;
+
+    private final File pendingFile;
+    private final Executor ioExecutor;
+    private final Function<Operation, GluonObservableObject<String>> sender;
+    private final Consumer<Operation> onSent;
+
+    // operations that are waiting to be sent, and operations that are being sent, by key
+    private final Map<String, Operation> pending = new LinkedHashMap<>();
+    private final Map<String, Operation> sending = new LinkedHashMap<>();
+
+    private final PauseTransition debounce = new PauseTransition(DEBOUNCE_DELAY);
+    private final PauseTransition retry = new PauseTransition(MIN_RETRY_DELAY);
+
+    /**
+     * @param rootDir the private storage directory, can be null in which case nothing is persisted
+     * @param ioExecutor the executor that writes the pending operations
+     * @param sender calls the remote function for an operation
+     * @param onSent called once an operation has been sent
+     */
+    SessionListWriteQueue(File rootDir, Executor ioExecutor, Function<Operation, GluonObservableObject<String>> sender,
+                          Consumer<Operation> onSent) {
+        this.pendingFile = rootDir == null ? null : new File(rootDir, PENDING_FILE);
+        this.ioExecutor = ioExecutor;
+        this.sender = sender;
+        this.onSent = onSent;
+        debounce.setOnFinished(e -> flush());
+        retry.setOnFinished(e -> flush());
+    }
+
+    /**
+     * Reads the operations that were pending when the application was stopped on the I/O
+     * executor, and schedules them to be sent. Operations for the same talk that were
+     * enqueued in the meantime are newer, and take precedence.
+     *
+     * @param onRestored called on the JavaFX Application thread once the operations have been restored
+     */
+    void restore(Runnable onRestored) {
+        if (pendingFile == null) {
+            return;
+        }
+        ioExecutor.execute(() -> {
+            if (!pendingFile.exists()) {
+                return;
+            }
+            final List<Operation> operations = new ArrayList<>();
+            try (JsonReader jsonReader = Json.createReader(new BufferedReader(new InputStreamReader(new FileInputStream(pendingFile), StandardCharsets.UTF_8)))) {
+                JsonArray array = jsonReader.readArray();
+                for (JsonObject object : array.getValuesAs(JsonObject.class)) {
+                    operations.add(new Operation(object.getString("prefix"), object.getString("cfpUrl"),
+                            object.getString("user"), object.getString("talkId"), object.getBoolean("add")));
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.WARNING, "Failed to read pending session list operations", e);
+                pendingFile.delete();
+                return;
+            }
+            Platform.runLater(() -> {
+                restored(operations);
+                onRestored.run();
+            });
+        });
+    }
+
+    private void restored(List<Operation> operations) {
+        // the operations were sent in order, so the latest one for a talk decides
+        Map<String, Operation> latest = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            latest.put(operation.key(), operation);
+        }
+        int restored = 0;
+        for (Operation operation : latest.values()) {
+            if (!pending.containsKey(operation.key()) && !sending.containsKey(operation.key())) {
+                pending.put(operation.key(), operation);
+                restored++;
+            }
+        }
+        LOG.log(Level.INFO, "Restored " + restored + " pending session list operations");
+        if (!pending.isEmpty()) {
+            debounce.playFromStart();
+        }
+    }
+
+    /**
+     * Returns the operations of the given session list that haven't been sent successfully yet,
+     * oldest first, so they can be applied to the list as it was retrieved.
+     */
+    List<Operation> getUnsent(String functionPrefix, String cfpUrl, String userUuid) {
+        List<Operation> unsent = new ArrayList<>();
+        for (Operation operation : sending.values()) {
+            if (operation.isFor(functionPrefix, cfpUrl, userUuid)) {
+                unsent.add(operation);
+            }
+        }
+        for (Operation operation : pending.values()) {
+            if (operation.isFor(functionPrefix, cfpUrl, userUuid)) {
+                unsent.add(operation);
+            }
+        }
+        return unsent;
+    }
+
+    void enqueue(String functionPrefix, String cfpUrl, String userUuid, String talkId, boolean add) {
+        if (cfpUrl == null || userUuid == null || talkId == null) {
+            LOG.log(Level.WARNING, "Can't send " + functionPrefix + " change of talk " + talkId + " without cfp account");
+            return;
+        }
+        if (!merge(new Operation(functionPrefix, cfpUrl, userUuid, talkId, add))) {
+            return;
+        }
+        persist();
+        debounce.playFromStart();
+    }
+
+    /**
+     * Sends pending operations right away, e.g. when the connection is restored.
+     */
+    void flush() {
+        debounce.stop();
+        retry.stop();
+
+        int batchSize = 0;
+        for (Iterator<Operation> iterator = pending.values().iterator(); iterator.hasNext() && batchSize < MAX_BATCH_SIZE; ) {
+            Operation operation = iterator.next();
+            // operations for the same talk are sent one after the other
+            if (sending.containsKey(operation.key())) {
+                continue;
+            }
+            iterator.remove();
+            sending.put(operation.key(), operation);
+            send(operation);
+            batchSize++;
+        }
+    }
+
+    private void send(Operation operation) {
+        GluonObservableObject<String> response = sender.apply(operation);
+        response.setOnSucceeded(e -> {
+            sending.remove(operation.key());
+            retry.setDuration(MIN_RETRY_DELAY);
+            persist();
+            onSent.accept(operation);
+            if (!pending.isEmpty() && sending.isEmpty()) {
+                flush();
+            }
+        });
+        response.setOnFailed(e -> {
+            LOG.log(Level.WARNING, "Failed to send " + operation + ", will retry: " + response.getException());
+            sending.remove(operation.key());
+            requeue(operation);
+            persist();
+            if (retry.getStatus() != Animation.Status.RUNNING) {
+                retry.playFromStart();
+                retry.setDuration(Duration.millis(Math.min(retry.getDuration().toMillis() * 2, MAX_RETRY_DELAY.toMillis())));
+            }
+        });
+    }
+
+    /**
+     * Adds an operation after the pending ones. Returns false if that didn't change anything.
+     */
+    private boolean merge(Operation operation) {
+        Operation previous = pending.get(operation.key());
+        if (previous == null) {
+            pending.put(operation.key(), operation);
+            return true;
+        }
+        if (previous.add != operation.add) {
+            // the two operations cancel each other out
+            pending.remove(operation.key());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Puts a failed operation back, in front of the operations that were queued while it was sent.
+     */
+    private void requeue(Operation operation) {
+        Operation later = pending.get(operation.key());
+        if (later == null) {
+            pending.put(operation.key(), operation);
+        } else if (later.add != operation.add) {
+            pending.remove(operation.key());
+        }
+    }
+
+    private void persist() {
+        if (pendingFile == null) {
+            return;
+        }
+        final List<Operation> operations = new ArrayList<>(sending.size() + pending.size());
+        operations.addAll(sending.values());
+        operations.addAll(pending.values());
+        ioExecutor.execute(() -> {
+            if (operations.isEmpty()) {
+                pendingFile.delete();
+                return;
+            }
+            File tmpFile = new File(pendingFile.getParentFile(), PENDING_FILE + ".tmp");
+            try (JsonGenerator generator = Json.createGenerator(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmpFile), StandardCharsets.UTF_8)))) {
+                generator.writeStartArray();
+                for (Operation operation : operations) {
+                    generator.writeStartObject()
+                            .write("prefix", operation.functionPrefix)
+                            .write("cfpUrl", operation.cfpUrl)
+                            .write("user", operation.userUuid)
+                            .write("talkId", operation.talkId)
+                            .write("add", operation.add)
+                            .writeEnd();
+                }
+                generator.writeEnd();
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.WARNING, "Failed to write pending session list operations", e);
+                return;
+            }
+            if ((pendingFile.exists() && !pendingFile.delete()) || !tmpFile.renameTo(pendingFile)) {
+                LOG.log(Level.WARNING, "Failed to replace " + pendingFile);
+            }
+        });
+    }
+
+    static final class Operation {
+
+        final String functionPrefix;
+        final String cfpUrl;
+        final String userUuid;
+        final String talkId;
+        final boolean add;
+
+        Operation(String functionPrefix, String cfpUrl, String userUuid, String talkId, boolean add) {
+            this.functionPrefix = functionPrefix;
+            this.cfpUrl = cfpUrl;
+            this.userUuid = userUuid;
+            this.talkId = talkId;
+            this.add = add;
+        }
+
+        String getFunctionName() {
+            return functionPrefix + (add ? "Add" : "Remove");
+        }
+
+        private boolean isFor(String functionPrefix, String cfpUrl, String userUuid) {
+            return this.functionPrefix.equals(functionPrefix) && this.cfpUrl.equals(cfpUrl) && this.userUuid.equals(userUuid);
+        }
+
+        private String key() {
+            return functionPrefix + '|' + cfpUrl + '|' + userUuid + '|' + talkId;
+        }
+
+        @Override
+        public String toString() {
+            return getFunctionName() + " of talk " + talkId;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.devoxx.model.Conference;
+import com.devoxx.model.Session;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the epoch millis of the sessions into the start and end dates in the time zone
+ * of the conference, and the day of the conference on which each session starts.
+ *
+ * Sessions share a small number of time slots, so each distinct time is converted only
+ * once. This is meant to run in a background thread, before the sessions are published.
+ * A normalizer is not thread safe.
+ */
+final class SessionTimeNormalizer {
+
+    private final ZoneId zoneId;
+    private final Conference conference;
+    private final Map<Long, ZonedDateTime> dates = new HashMap<>();
+    private final Map<Long, Integer> dayIndexes = new HashMap<>();
+
+    SessionTimeNormalizer(Conference conference) {
+        this.conference = conference;
+        this.zoneId = conference.getConferenceZoneId();
+    }
+
+    static void normalize(List<Session> sessions, Conference conference) {
+        SessionTimeNormalizer normalizer = new SessionTimeNormalizer(conference);
+        for (Session session : sessions) {
+            normalizer.normalize(session);
+        }
+    }
+
+    void normalize(Session session) {
+        ZonedDateTime startDate = toDate(session.getFromTimeMillis());
+        session.setStartDate(startDate);
+        session.setEndDate(toDate(session.getToTimeMillis()));
+        session.setDayIndex(toDayIndex(session.getFromTimeMillis(), startDate));
+    }
+
+    private ZonedDateTime toDate(long millis) {
+        return dates.computeIfAbsent(millis, key -> ZonedDateTime.ofInstant(Instant.ofEpochMilli(key), zoneId));
+    }
+
+    private int toDayIndex(long millis, ZonedDateTime date) {
+        return dayIndexes.computeIfAbsent(millis, key -> conference.getDays() == null ? 0 : conference.getConferenceDayIndex(date));
+    }
+}
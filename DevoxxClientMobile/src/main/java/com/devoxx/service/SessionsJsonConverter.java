@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.devoxx.model.Break;
+import com.devoxx.model.Conference;
+import com.devoxx.model.Link;
+import com.devoxx.model.Room;
+import com.devoxx.model.Session;
+import com.devoxx.model.Tag;
+import com.devoxx.model.Talk;
+import com.devoxx.model.TalkSpeaker;
+import com.gluonhq.connect.converter.InputStreamIterableInputConverter;
+
+import javax.json.Json;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the array of sessions returned by the sessions remote function one session at a
+ * time, with a streaming parser. Sessions are handed to the list as soon as they are read,
+ * and only the session that is being read is kept in memory, instead of the tree of the
+ * complete response. The times of each session are normalized while it is read.
+ */
+class SessionsJsonConverter extends InputStreamIterableInputConverter<Session> implements Iterator<Session> {
+
+    private final SessionTimeNormalizer normalizer;
+
+    private JsonParser parser;
+    private Session next;
+
+    SessionsJsonConverter(Conference conference) {
+        this.normalizer = new SessionTimeNormalizer(conference);
+    }
+
+    @Override
+    public Iterator<Session> iterator() {
+        parser = Json.createParser(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+            throw new JsonParsingException("Expected an array of sessions", parser.getLocation());
+        }
+        next = readNext();
+        if (next == null) {
+            parser.close();
+        }
+        return this;
+    }
+
+    /**
+     * Reads the array of sessions that starts at the current position of the given parser,
+     * for responses that embed the sessions. The parser is left open after the array.
+     */
+    List<Session> readArray(JsonParser parser) {
+        this.parser = parser;
+        List<Session> sessions = new ArrayList<>();
+        Session session;
+        while ((session = readNext()) != null) {
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Session next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Session session = next;
+        next = readNext();
+        if (next == null) {
+            parser.close();
+        }
+        return session;
+    }
+
+    private Session readNext() {
+        while (parser.hasNext()) {
+            JsonParser.Event event = parser.next();
+            if (event == JsonParser.Event.START_OBJECT) {
+                Session session = readSession();
+                normalizer.normalize(session);
+                return session;
+            }
+            if (event == JsonParser.Event.END_ARRAY) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private Session readSession() {
+        Session session = new Session();
+        while (parser.next() == JsonParser.Event.KEY_NAME) {
+            String key = parser.getString();
+            JsonParser.Event event = parser.next();
+            switch (key) {
+                case "slotId": session.setSlotId(readString(event)); break;
+                case "roomId": session.setRoomId(readString(event)); break;
+                case "roomName": session.setRoomName(readString(event)); break;
+                case "day": session.setDay(readString(event)); break;
+                case "fromTime": session.setFromTime(readString(event)); break;
+                case "fromTimeMillis": session.setFromTimeMillis(readLong(event)); break;
+                case "toTime": session.setToTime(readString(event)); break;
+                case "toTimeMillis": session.setToTimeMillis(readLong(event)); break;
+                case "talk": session.setTalk(event == JsonParser.Event.START_OBJECT ? readTalk() : null); break;
+                case "break": session.setaBreak(event == JsonParser.Event.START_OBJECT ? readBreak() : null); break;
+                default: skip(event);
+            }
+        }
+        return session;
+    }
+
+    private Talk readTalk() {
+        Talk talk = new Talk();
+        while (parser.next() == JsonParser.Event.KEY_NAME) {
+            String key = parser.getString();
+            JsonParser.Event event = parser.next();
+            switch (key) {
+                case "id": talk.setId(readString(event)); break;
+                case "title": talk.setTitle(readString(event)); break;
+                case "talkType": talk.setTalkType(readString(event)); break;
+                case "track": talk.setTrack(readString(event)); break;
+                case "trackId": talk.setTrackId(readString(event)); break;
+                case "lang": talk.setLang(readString(event)); break;
+                case "audienceLevel": talk.setAudienceLevel(readString(event)); break;
+                case "summary":
+                    talk.setSummary(readString(event));
+                    talk.setDetailsRetrieved(true);
+                    break;
+                case "summaryAsHtml":
+                    talk.setSummaryAsHtml(readString(event));
+                    talk.setDetailsRetrieved(true);
+                    break;
+                case "tags": talk.setTags(event == JsonParser.Event.START_ARRAY ? readTags() : null); break;
+                case "speakers": talk.setSpeakers(event == JsonParser.Event.START_ARRAY ? readTalkSpeakers() : null); break;
+                default: skip(event);
+            }
+        }
+        return talk;
+    }
+
+    private List<Tag> readTags() {
+        List<Tag> tags = new ArrayList<>();
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (event == JsonParser.Event.VALUE_STRING) {
+                tags.add(new Tag(parser.getString()));
+            } else if (event == JsonParser.Event.START_OBJECT) {
+                Tag tag = new Tag();
+                while (parser.next() == JsonParser.Event.KEY_NAME) {
+                    String key = parser.getString();
+                    JsonParser.Event valueEvent = parser.next();
+                    if ("value".equals(key)) {
+                        tag.setValue(readString(valueEvent));
+                    } else {
+                        skip(valueEvent);
+                    }
+                }
+                tags.add(tag);
+            } else {
+                skip(event);
+            }
+        }
+        return tags;
+    }
+
+    private List<TalkSpeaker> readTalkSpeakers() {
+        List<TalkSpeaker> speakers = new ArrayList<>();
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (event != JsonParser.Event.START_OBJECT) {
+                skip(event);
+                continue;
+            }
+            TalkSpeaker speaker = new TalkSpeaker();
+            while (parser.next() == JsonParser.Event.KEY_NAME) {
+                String key = parser.getString();
+                JsonParser.Event valueEvent = parser.next();
+                switch (key) {
+                    case "name": speaker.setName(readString(valueEvent)); break;
+                    case "link": speaker.setLink(valueEvent == JsonParser.Event.START_OBJECT ? readLink() : null); break;
+                    default: skip(valueEvent);
+                }
+            }
+            speakers.add(speaker);
+        }
+        return speakers;
+    }
+
+    private Link readLink() {
+        Link link = new Link();
+        while (parser.next() == JsonParser.Event.KEY_NAME) {
+            String key = parser.getString();
+            JsonParser.Event event = parser.next();
+            switch (key) {
+                case "href": link.setHref(readString(event)); break;
+                case "rel": link.setRel(readString(event)); break;
+                case "title": link.setTitle(readString(event)); break;
+                default: skip(event);
+            }
+        }
+        return link;
+    }
+
+    private Break readBreak() {
+        Break aBreak = new Break();
+        while (parser.next() == JsonParser.Event.KEY_NAME) {
+            String key = parser.getString();
+            JsonParser.Event event = parser.next();
+            switch (key) {
+                case "id": aBreak.setId(readString(event)); break;
+                case "nameEN": aBreak.setNameEN(readString(event)); break;
+                case "nameFR": aBreak.setNameFR(readString(event)); break;
+                case "room": aBreak.setRoom(event == JsonParser.Event.START_OBJECT ? readRoom() : null); break;
+                default: skip(event);
+            }
+        }
+        return aBreak;
+    }
+
+    private Room readRoom() {
+        Room room = new Room();
+        while (parser.next() == JsonParser.Event.KEY_NAME) {
+            String key = parser.getString();
+            JsonParser.Event event = parser.next();
+            switch (key) {
+                case "id": room.setId(readString(event)); break;
+                case "name": room.setName(readString(event)); break;
+                case "capacity": room.setCapacity((int) readLong(event)); break;
+                case "setup": room.setSetup(readString(event)); break;
+                default: skip(event);
+            }
+        }
+        return room;
+    }
+
+    private String readString(JsonParser.Event event) {
+        if (event == JsonParser.Event.VALUE_STRING || event == JsonParser.Event.VALUE_NUMBER) {
+            return parser.getString();
+        }
+        skip(event);
+        return null;
+    }
+
+    private long readLong(JsonParser.Event event) {
+        if (event == JsonParser.Event.VALUE_NUMBER) {
+            return parser.getLong();
+        }
+        skip(event);
+        return 0;
+    }
+
+    private void skip(JsonParser.Event event) {
+        skipValue(parser, event);
+    }
+
+    /**
+     * Skips the value that starts with the given event, including nested objects and arrays.
+     */
+    static void skipValue(JsonParser parser, JsonParser.Event event) {
+        if (event != JsonParser.Event.START_OBJECT && event != JsonParser.Event.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            switch (parser.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
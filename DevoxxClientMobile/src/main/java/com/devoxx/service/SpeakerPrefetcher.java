@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.devoxx.model.Speaker;
+import com.devoxx.views.helper.SpeakerComparator;
+import com.gluonhq.connect.GluonObservableObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Retrieves the details of the speakers in the background, so the speaker view can show
+ * them without waiting for the remote function.
+ *
+ * Speakers are fetched in the order of the speakers view, with a limited number of requests
+ * at a time. The prefetcher stops sending new requests while it is paused, e.g. when the
+ * device is offline or the application is in the background, and continues when it is resumed.
+ *
+ * The prefetcher is not thread safe, and is meant to be used from the JavaFX Application thread.
+ */
+class SpeakerPrefetcher {
+
+    private static final Logger LOG = Logger.getLogger(SpeakerPrefetcher.class.getName());
+
+    private static final int MAX_CONCURRENT_REQUESTS = 3;
+
+    private final Function<Speaker, GluonObservableObject<Speaker>> fetcher;
+    private final Consumer<Speaker> onFetched;
+
+    private final Deque<Speaker> queue = new ArrayDeque<>();
+    private int running;
+    private boolean connected = true;
+    private boolean foreground = true;
+    private int generation;
+
+    /**
+     * @param fetcher calls the remote function that returns the details of a speaker
+     * @param onFetched stores the details of a speaker
+     */
+    SpeakerPrefetcher(Function<Speaker, GluonObservableObject<Speaker>> fetcher, Consumer<Speaker> onFetched) {
+        this.fetcher = fetcher;
+        this.onFetched = onFetched;
+    }
+
+    /**
+     * Starts fetching the details of the given speakers, replacing any previous prefetch.
+     */
+    void start(List<Speaker> speakers) {
+        cancel();
+        List<Speaker> ordered = new ArrayList<>(speakers.size());
+        for (Speaker speaker : speakers) {
+            if (!speaker.isDetailsRetrieved() && speaker.getUuid() != null && speaker.getFullName() != null) {
+                ordered.add(speaker);
+            }
+        }
+        ordered.sort(new SpeakerComparator());
+        queue.addAll(ordered);
+        LOG.log(Level.FINE, "Prefetching details of " + queue.size() + " speakers");
+        dispatch();
+    }
+
+    /**
+     * Drops the speakers that have not been requested yet. Responses of requests that
+     * are running are still stored.
+     */
+    void cancel() {
+        queue.clear();
+        running = 0;
+        generation++;
+    }
+
+    void setConnected(boolean connected) {
+        this.connected = connected;
+        dispatch();
+    }
+
+    void setForeground(boolean foreground) {
+        this.foreground = foreground;
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (connected && foreground && running < MAX_CONCURRENT_REQUESTS && !queue.isEmpty()) {
+            Speaker speaker = queue.poll();
+            // the details may have been retrieved in the meantime, e.g. by opening the speaker
+            if (speaker.isDetailsRetrieved()) {
+                continue;
+            }
+            running++;
+            final int requestGeneration = generation;
+            GluonObservableObject<Speaker> details = fetcher.apply(speaker);
+            details.setOnSucceeded(e -> {
+                if (details.get() != null) {
+                    onFetched.accept(details.get());
+                }
+                completed(requestGeneration);
+            });
+            details.setOnFailed(e -> {
+                LOG.log(Level.FINE, "Failed to prefetch details of speaker " + speaker.getUuid(), e.getSource().getException());
+                completed(requestGeneration);
+            });
+        }
+    }
+
+    private void completed(int requestGeneration) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        running--;
+        dispatch();
+    }
+}
@@ -28,16 +28,24 @@ package com.devoxx.util;
 import com.devoxx.service.Service;
 import com.devoxx.model.*;
 import com.devoxx.views.cell.*;
+import javafx.animation.PauseTransition;
+import javafx.beans.Observable;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.util.Duration;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Arrays;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 @Singleton
 public class DevoxxSearch {
@@ -52,62 +60,122 @@ public class DevoxxSearch {
 //        CELL_MAP.put(Sponsor.class.getSimpleName(),     SponsorCell.class);
     }
 
+    // the sources of the index, results are returned in this order
+    private static final int EXHIBITORS = 0;
+    private static final int SESSIONS = 1;
+    private static final int SPEAKERS = 2;
+    private static final int NOTES = 3;
+    private static final int BADGES = 4;
+
+    private static final int[] SEARCHABLES = {EXHIBITORS, SESSIONS, SPEAKERS};
+    private static final int[] ALL_SEARCHABLES = {EXHIBITORS, SESSIONS, SPEAKERS, NOTES, BADGES};
+
+    // the number of best ranked results returned for each source
+    private static final int MAX_RESULTS = 25;
+
+    // sessions and speakers are published in chunks, suggestions are rebuilt once they settle
+    private static final Duration SUGGESTIONS_DELAY = Duration.seconds(1);
+
     @Inject
     private Service service;
 
-    private final Collection<Supplier<Collection<? extends Searchable>>> searchables = Arrays.asList(
-            () -> service.retrieveExhibitors(),
-            () -> service.retrieveSessions(),
-            () -> service.retrieveSpeakers()
-//            () -> service.retrieveSponsors()
-    );
+    private final SearchIndex index = new SearchIndex();
 
-    private final Collection<Supplier<Collection<? extends Searchable>>> authSearchables = Arrays.asList(
-            () -> service.retrieveNotes(),
-            () -> service.retrieveBadges()
-    );
+    private final ExecutorService suggestionsExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName("SuggestionsThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final PauseTransition suggestionsRebuild = new PauseTransition(SUGGESTIONS_DELAY);
+    private volatile SearchSuggestions suggestions = SearchSuggestions.EMPTY;
 
+    @PostConstruct
+    private void init() {
+        suggestionsRebuild.setOnFinished(e -> rebuildSuggestions());
+        service.retrieveSessions().addListener((Observable o) -> suggestionsRebuild.playFromStart());
+        service.retrieveSpeakers().addListener((Observable o) -> suggestionsRebuild.playFromStart());
+        rebuildSuggestions();
+    }
 
     /**
-     * Returns a list of items based on a contains term
+     * Returns a list of the most relevant items based on a contains term, grouped by their type
      * @param term term to search for
      * @return list of item containing term
      */
     public ObservableList<Searchable> search(String term) {
-
-        ObservableList<Searchable> results = FXCollections.observableArrayList(find(term, searchables));
+        attach(EXHIBITORS, service.retrieveExhibitors());
+        attach(SESSIONS, service.retrieveSessions());
+        attach(SPEAKERS, service.retrieveSpeakers());
         if (service.isAuthenticated()) {
-            results.addAll(find(term, authSearchables));
+            attach(NOTES, service.retrieveNotes());
+            attach(BADGES, service.retrieveBadges());
+            return FXCollections.observableArrayList(index.find(term, MAX_RESULTS, ALL_SEARCHABLES));
         }
-        return results;
+        return FXCollections.observableArrayList(index.find(term, MAX_RESULTS, SEARCHABLES));
     }
     
     /**
-     * Returns a list of items based on a contains term, from a list of items
-     * @param keyword term to search for
-     * @param previousSearch previous search results
-     * @return 
+     * Returns speaker names, talk titles, tracks and tags that have a word starting with the
+     * prefix, the most common ones first. This doesn't block, and can be called for every keystroke.
+     * @param prefix the text typed so far
+     * @return list of suggested search texts
      */
-    public ObservableList<Searchable> refineSearch(String keyword, ObservableList<Searchable> previousSearch) {
-
-        ObservableList<Searchable> results = FXCollections.observableArrayList();
-        for (Searchable searchable : previousSearch) {
-            if (searchable.contains(keyword)) {
-                results.add(searchable);
-            }
-        }
-        return results;
+    public List<String> suggest(String prefix) {
+        return suggestions.suggest(prefix);
     }
 
-    private Collection<Searchable> find( String keyword, Collection<Supplier<Collection<? extends Searchable>>> searchables ) {
-        ObservableList<Searchable> results = FXCollections.observableArrayList();
-        for (Supplier<Collection<? extends Searchable>> supplier: searchables) {
-            for (Searchable searchable: supplier.get()) {
-                if (searchable.contains(keyword)) {
-                    results.add(searchable);
+    private void rebuildSuggestions() {
+        final List<Session> sessions = new ArrayList<>(service.retrieveSessions());
+        final List<Speaker> speakers = new ArrayList<>(service.retrieveSpeakers());
+        suggestionsExecutor.execute(() -> {
+            SearchSuggestions.Builder builder = new SearchSuggestions.Builder();
+            for (Session session : sessions) {
+                Talk talk = session.getTalk();
+                if (talk == null) {
+                    continue;
                 }
+                // texts that come with more talks are suggested first
+                builder.add(talk.getTitle(), 1);
+                builder.add(talk.getTrack(), 1);
+                if (talk.getTags() != null) {
+                    for (Tag tag : talk.getTags()) {
+                        builder.add(tag.getValue(), 1);
+                    }
+                }
+                if (talk.getSpeakers() != null) {
+                    for (TalkSpeaker speaker : talk.getSpeakers()) {
+                        builder.add(speaker.getName(), 1);
+                    }
+                }
+            }
+            for (Speaker speaker : speakers) {
+                builder.add(Strings.nullToEmpty(speaker.getFirstName()) + " " + Strings.nullToEmpty(speaker.getLastName()), 1);
             }
+            suggestions = builder.build();
+        });
+    }
+
+    /**
+     * Attaches the list to the index, unless it is attached already. The index listens to the
+     * list, so it is attached on the JavaFX Application thread, and searches wait for it.
+     */
+    private void attach(int source, ObservableList<? extends Searchable> list) {
+        if (index.isAttached(source, list)) {
+            return;
+        }
+        if (Platform.isFxApplicationThread()) {
+            index.attach(source, list);
+            return;
+        }
+        FutureTask<Void> task = new FutureTask<>(() -> index.attach(source, list), null);
+        Platform.runLater(task);
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to index search source " + source, e.getCause());
         }
-        return results;
     }
 }
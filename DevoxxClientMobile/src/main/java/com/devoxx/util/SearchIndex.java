@@ -0,0 +1,538 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.util;
+
+import com.devoxx.model.Searchable;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An inverted index from the normalized tokens of the searchable values of items to the
+ * items that contain them.
+ *
+ * A keyword matches an item when every token of the keyword is contained in one of the
+ * tokens of the item. The distinct tokens of the index are also indexed by their substrings
+ * of up to three characters, so the tokens that contain a keyword token are looked up from
+ * the least common of its trigrams, instead of scanning the whole vocabulary.
+ *
+ * Matches are ranked BM25 style: every value of an item is weighted by
+ * {@link Searchable#searchWeight(int)}, and a keyword token scores higher the more often it
+ * occurs in the weighted values of an item, the shorter those values are, and the fewer items
+ * it occurs in.
+ *
+ * Names are found as well when they are typed slightly wrong: the tokens of the values that
+ * {@link Searchable#isFuzzySearchValue(int)} are also indexed by their trigrams. The tokens
+ * that share the most trigrams with a keyword token are verified by their edit distance to
+ * it, and match with a lower relevance.
+ *
+ * Lists are attached to the index as sources, and the index is updated incrementally from
+ * their list change events and from the search dependencies of their items, on the JavaFX
+ * Application thread. Queries can run on any thread.
+ */
+class SearchIndex {
+
+    private final Map<String, Set<Entry>> postings = new HashMap<>();
+    private final Map<Searchable, Entry> entries = new IdentityHashMap<>();
+    private final Map<Integer, Source> sources = new HashMap<>();
+    // the distinct tokens by their substrings of up to GRAM_LENGTH characters
+    private final Map<String, Set<String>> gramTokens = new HashMap<>();
+    private long sequence;
+    private double totalLength;
+
+    // the tokens of fuzzy values by their trigrams, and the number of entries that have each one
+    private final Map<String, Set<String>> trigramTokens = new HashMap<>();
+    private final Map<String, Integer> fuzzyTokenEntries = new HashMap<>();
+
+    private static final int GRAM_LENGTH = 3;
+
+    // BM25 saturation of the term frequency, and normalization of the length of the values
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // keyword tokens shorter than this only match exactly, longer ones allow two edits
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int LONG_FUZZY_LENGTH = 7;
+    // the tokens that share the most trigrams with a keyword token that are verified
+    private static final int MAX_FUZZY_CANDIDATES = 32;
+
+    synchronized boolean isAttached(int source, ObservableList<? extends Searchable> list) {
+        Source attached = sources.get(source);
+        return attached != null && attached.list == list;
+    }
+
+    /**
+     * Indexes the items of the given list, and keeps them up to date. A list that was attached
+     * before for the same source is detached, and its items are removed from the index.
+     */
+    synchronized void attach(int source, ObservableList<? extends Searchable> list) {
+        Source previous = sources.remove(source);
+        if (previous != null) {
+            previous.list.removeListener(previous.listener);
+            for (Searchable item : previous.list) {
+                remove(item);
+            }
+        }
+        ListChangeListener<Searchable> listener = change -> {
+            synchronized (SearchIndex.this) {
+                while (change.next()) {
+                    if (change.wasPermutated()) {
+                        continue;
+                    }
+                    if (change.wasUpdated()) {
+                        for (int i = change.getFrom(); i < change.getTo(); i++) {
+                            add(change.getList().get(i), source);
+                        }
+                        continue;
+                    }
+                    for (Searchable item : change.getRemoved()) {
+                        remove(item);
+                    }
+                    for (Searchable item : change.getAddedSubList()) {
+                        add(item, source);
+                    }
+                }
+            }
+        };
+        sources.put(source, new Source(list, listener));
+        list.addListener(listener);
+        for (Searchable item : list) {
+            add(item, source);
+        }
+    }
+
+    /**
+     * Returns the best ranked items of the given sources that match the keyword, in the order
+     * of the sources, and by descending relevance within each source. At most {@code limit}
+     * items are returned for each source, so large result sets are never sorted in full.
+     */
+    synchronized List<Searchable> find(String keyword, int limit, int... sourceIds) {
+        Map<Integer, PriorityQueue<Match>> topMatches = new HashMap<>();
+        for (int sourceId : sourceIds) {
+            topMatches.put(sourceId, new PriorityQueue<>(Match.WORST_FIRST));
+        }
+        for (Map.Entry<Entry, Double> scored : score(keyword).entrySet()) {
+            PriorityQueue<Match> sourceMatches = topMatches.get(scored.getKey().source);
+            if (sourceMatches == null) {
+                continue;
+            }
+            Match match = new Match(scored.getKey(), scored.getValue());
+            if (sourceMatches.size() < limit) {
+                sourceMatches.add(match);
+            } else if (limit > 0 && Match.WORST_FIRST.compare(match, sourceMatches.peek()) > 0) {
+                sourceMatches.poll();
+                sourceMatches.add(match);
+            }
+        }
+        List<Searchable> results = new ArrayList<>();
+        for (int sourceId : sourceIds) {
+            PriorityQueue<Match> sourceMatches = topMatches.get(sourceId);
+            List<Match> ranked = new ArrayList<>(sourceMatches);
+            ranked.sort(Match.WORST_FIRST.reversed());
+            for (Match match : ranked) {
+                results.add(match.entry.item);
+            }
+            sourceMatches.clear();
+        }
+        return results;
+    }
+
+    /**
+     * Returns the entries that match every token of the keyword, with their relevance.
+     */
+    private Map<Entry, Double> score(String keyword) {
+        Set<String> keywordTokens = tokenize(keyword);
+        if (keywordTokens.isEmpty() || entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        double averageLength = Math.max(totalLength / entries.size(), 1);
+        Map<Entry, Double> results = null;
+        for (String keywordToken : keywordTokens) {
+            // the weighted frequency of the keyword token in each entry, over the tokens containing it
+            Map<Entry, Double> frequencies = new HashMap<>();
+            for (String token : containingTokens(keywordToken)) {
+                for (Entry entry : postings.get(token)) {
+                    frequencies.merge(entry, entry.frequencies.get(token), Double::sum);
+                }
+            }
+            for (Map.Entry<String, Integer> fuzzyMatch : fuzzyMatches(keywordToken).entrySet()) {
+                String token = fuzzyMatch.getKey();
+                for (Entry entry : postings.get(token)) {
+                    if (entry.fuzzyTokens.contains(token)) {
+                        frequencies.merge(entry, entry.frequencies.get(token) / (1 + fuzzyMatch.getValue()), Double::sum);
+                    }
+                }
+            }
+            double idf = Math.log(1 + (entries.size() - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+            Map<Entry, Double> tokenResults = new HashMap<>();
+            for (Map.Entry<Entry, Double> frequency : frequencies.entrySet()) {
+                Entry entry = frequency.getKey();
+                if (results != null && !results.containsKey(entry)) {
+                    continue;
+                }
+                double tf = frequency.getValue();
+                double tokenScore = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * entry.length / averageLength));
+                tokenResults.put(entry, results == null ? tokenScore : results.get(entry) + tokenScore);
+            }
+            results = tokenResults;
+            if (results.isEmpty()) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the tokens of the index that contain the keyword token. A short keyword token is
+     * looked up directly, a longer one through the tokens of its least common trigram, which
+     * all the tokens that contain it share.
+     */
+    private Set<String> containingTokens(String keywordToken) {
+        if (keywordToken.length() <= GRAM_LENGTH) {
+            return gramTokens.getOrDefault(keywordToken, Collections.emptySet());
+        }
+        Set<String> candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= keywordToken.length(); i++) {
+            Set<String> tokens = gramTokens.get(keywordToken.substring(i, i + GRAM_LENGTH));
+            if (tokens == null) {
+                return Collections.emptySet();
+            }
+            if (candidates == null || tokens.size() < candidates.size()) {
+                candidates = tokens;
+            }
+        }
+        Set<String> containing = new HashSet<>();
+        for (String token : candidates) {
+            if (token.contains(keywordToken)) {
+                containing.add(token);
+            }
+        }
+        return containing;
+    }
+
+    /**
+     * Returns the distinct substrings of the token of up to {@link #GRAM_LENGTH} characters.
+     */
+    private static Set<String> grams(String token) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < token.length(); i++) {
+            for (int j = i + 1; j <= Math.min(i + GRAM_LENGTH, token.length()); j++) {
+                grams.add(token.substring(i, j));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Returns the tokens of fuzzy values that don't contain the keyword token, but are within
+     * a small edit distance of it or of one of their prefixes, with that distance.
+     */
+    private Map<String, Integer> fuzzyMatches(String keywordToken) {
+        if (keywordToken.length() < MIN_FUZZY_LENGTH) {
+            return Collections.emptyMap();
+        }
+        int maxDistance = keywordToken.length() < LONG_FUZZY_LENGTH ? 1 : 2;
+        Set<String> keywordTrigrams = trigrams(keywordToken);
+        Map<String, Integer> sharedTrigrams = new HashMap<>();
+        for (String trigram : keywordTrigrams) {
+            for (String token : trigramTokens.getOrDefault(trigram, Collections.emptySet())) {
+                sharedTrigrams.merge(token, 1, Integer::sum);
+            }
+        }
+        // every edit changes at most four trigrams
+        int minSharedTrigrams = Math.max(1, keywordTrigrams.size() - 4 * maxDistance);
+        PriorityQueue<Map.Entry<String, Integer>> candidates = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Integer> shared : sharedTrigrams.entrySet()) {
+            if (shared.getValue() < minSharedTrigrams || shared.getKey().contains(keywordToken)) {
+                continue;
+            }
+            candidates.add(shared);
+            if (candidates.size() > MAX_FUZZY_CANDIDATES) {
+                candidates.poll();
+            }
+        }
+        Map<String, Integer> matches = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : candidates) {
+            int distance = prefixDistance(keywordToken, candidate.getKey(), maxDistance);
+            if (distance <= maxDistance) {
+                matches.put(candidate.getKey(), distance);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the smallest edit distance, counting adjacent transpositions as one edit, between
+     * the keyword and the token or any of its prefixes, or a value above {@code maxDistance} once
+     * it can't be reached.
+     */
+    private static int prefixDistance(String keyword, String token, int maxDistance) {
+        int[] previousRow = new int[token.length() + 1];
+        int[] row = new int[token.length() + 1];
+        int[] nextRow = new int[token.length() + 1];
+        for (int j = 0; j <= token.length(); j++) {
+            row[j] = j;
+        }
+        for (int i = 1; i <= keyword.length(); i++) {
+            int[] rotated = previousRow;
+            previousRow = row;
+            row = nextRow;
+            nextRow = rotated;
+
+            row[0] = i;
+            int rowMin = row[0];
+            for (int j = 1; j <= token.length(); j++) {
+                int cost = keyword.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(row[j - 1] + 1, previousRow[j] + 1), previousRow[j - 1] + cost);
+                if (i > 1 && j > 1 && keyword.charAt(i - 1) == token.charAt(j - 2) &&
+                        keyword.charAt(i - 2) == token.charAt(j - 1)) {
+                    distance = Math.min(distance, nextRow[j - 2] + 1);
+                }
+                row[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+        int distance = row[0];
+        for (int j = 1; j <= token.length(); j++) {
+            distance = Math.min(distance, row[j]);
+        }
+        return distance;
+    }
+
+    /**
+     * Returns the trigrams of the token, padded at the start so its first characters count most.
+     */
+    private static Set<String> trigrams(String token) {
+        String padded = "^^" + token;
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private void add(Searchable item, int source) {
+        if (item == null) {
+            return;
+        }
+        // an item that is already indexed is indexed again with its current values
+        remove(item);
+
+        Entry entry = new Entry(item, source, sequence++);
+        entries.put(item, entry);
+        index(entry);
+        for (Observable dependency : entry.dependencies) {
+            dependency.addListener(entry.dependencyListener);
+        }
+    }
+
+    private void remove(Searchable item) {
+        Entry entry = entries.remove(item);
+        if (entry == null) {
+            return;
+        }
+        for (Observable dependency : entry.dependencies) {
+            dependency.removeListener(entry.dependencyListener);
+        }
+        unindex(entry);
+    }
+
+    private void index(Entry entry) {
+        entry.frequencies = new HashMap<>();
+        entry.fuzzyTokens = new HashSet<>();
+        entry.length = 0;
+        List<?> values = entry.item.searchValues();
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            double weight = entry.item.searchWeight(i);
+            boolean fuzzy = entry.item.isFuzzySearchValue(i);
+            for (String token : split(value.toString())) {
+                entry.frequencies.merge(token, weight, Double::sum);
+                entry.length += weight;
+                if (fuzzy) {
+                    entry.fuzzyTokens.add(token);
+                }
+            }
+        }
+        totalLength += entry.length;
+        for (String token : entry.frequencies.keySet()) {
+            Set<Entry> posting = postings.get(token);
+            if (posting == null) {
+                posting = new HashSet<>();
+                postings.put(token, posting);
+                for (String gram : grams(token)) {
+                    gramTokens.computeIfAbsent(gram, key -> new HashSet<>()).add(token);
+                }
+            }
+            posting.add(entry);
+        }
+        for (String token : entry.fuzzyTokens) {
+            if (fuzzyTokenEntries.merge(token, 1, Integer::sum) == 1) {
+                for (String trigram : trigrams(token)) {
+                    trigramTokens.computeIfAbsent(trigram, key -> new HashSet<>()).add(token);
+                }
+            }
+        }
+    }
+
+    private void unindex(Entry entry) {
+        for (String token : entry.frequencies.keySet()) {
+            Set<Entry> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(entry);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                    for (String gram : grams(token)) {
+                        Set<String> tokens = gramTokens.get(gram);
+                        if (tokens != null) {
+                            tokens.remove(token);
+                            if (tokens.isEmpty()) {
+                                gramTokens.remove(gram);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        for (String token : entry.fuzzyTokens) {
+            if (fuzzyTokenEntries.merge(token, -1, Integer::sum) == 0) {
+                fuzzyTokenEntries.remove(token);
+                for (String trigram : trigrams(token)) {
+                    Set<String> tokens = trigramTokens.get(trigram);
+                    if (tokens != null) {
+                        tokens.remove(token);
+                        if (tokens.isEmpty()) {
+                            trigramTokens.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+        totalLength -= entry.length;
+        entry.frequencies = Collections.emptyMap();
+        entry.fuzzyTokens = Collections.emptySet();
+        entry.length = 0;
+    }
+
+    /**
+     * Splits the text into lower case tokens of letters and digits.
+     */
+    static Set<String> tokenize(String text) {
+        return new LinkedHashSet<>(split(text));
+    }
+
+    private static List<String> split(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerText.length(); i++) {
+            boolean tokenChar = i < lowerText.length() && Character.isLetterOrDigit(lowerText.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(lowerText.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private class Entry {
+
+        private final Searchable item;
+        private final int source;
+        private final long sequence;
+        private final InvalidationListener dependencyListener;
+        // the dependencies that are listened to, which the item may not return anymore once it changed
+        private final Observable[] dependencies;
+        // the weighted number of occurrences of each token, and the weighted number of tokens
+        private Map<String, Double> frequencies = Collections.emptyMap();
+        private Set<String> fuzzyTokens = Collections.emptySet();
+        private double length;
+
+        private Entry(Searchable item, int source, long sequence) {
+            this.item = item;
+            this.source = source;
+            this.sequence = sequence;
+            this.dependencies = item.searchDependencies();
+            this.dependencyListener = o -> {
+                synchronized (SearchIndex.this) {
+                    unindex(this);
+                    index(this);
+                }
+            };
+        }
+    }
+
+    private static class Match {
+
+        // lower scores first, and among equal scores the ones indexed last
+        private static final Comparator<Match> WORST_FIRST = Comparator.comparingDouble((Match match) -> match.score)
+                .thenComparing(Comparator.comparingLong((Match match) -> match.entry.sequence).reversed());
+
+        private final Entry entry;
+        private final double score;
+
+        private Match(Entry entry, double score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+
+    private static class Source {
+
+        private final ObservableList<? extends Searchable> list;
+        private final ListChangeListener<Searchable> listener;
+
+        private Source(ObservableList<? extends Searchable> list, ListChangeListener<Searchable> listener) {
+            this.list = list;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A prefix trie of the texts that are suggested while typing a search, like speaker names
+ * and talk titles.
+ *
+ * A text is found by the start of any of its words. Every node keeps the best suggestions
+ * below it, by weight, so a suggestion only walks the characters of the prefix. The trie is
+ * immutable once built, and can be used from any thread.
+ */
+final class SearchSuggestions {
+
+    // the number of suggestions returned for a prefix
+    private static final int MAX_SUGGESTIONS = 8;
+    // keys are only this deep, suggestions for longer prefixes are checked against the text
+    private static final int MAX_KEY_LENGTH = 24;
+
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator.comparingInt((Suggestion suggestion) -> suggestion.weight).reversed()
+            .thenComparing(suggestion -> suggestion.normalizedText);
+
+    static final SearchSuggestions EMPTY = new Builder().build();
+
+    private final Node root;
+
+    private SearchSuggestions(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the best texts with a word that starts with the prefix.
+     */
+    List<String> suggest(String prefix) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        for (int i = 0; i < Math.min(normalizedPrefix.length(), MAX_KEY_LENGTH) && node != null; i++) {
+            node = node.child(normalizedPrefix.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        List<String> suggestions = new ArrayList<>(node.best.length);
+        for (Suggestion suggestion : node.best) {
+            if (normalizedPrefix.length() <= MAX_KEY_LENGTH || suggestion.hasWordStartingWith(normalizedPrefix)) {
+                suggestions.add(suggestion.text);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Lower cases the text, and replaces every run of characters other than letters and
+     * digits with a single space.
+     */
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean separator = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Collects the texts to suggest, adding up the weights of texts that are added more than once.
+     */
+    static class Builder {
+
+        private final Map<String, Suggestion> suggestions = new LinkedHashMap<>();
+
+        Builder add(String text, int weight) {
+            if (text == null) {
+                return this;
+            }
+            String trimmed = text.trim();
+            String normalizedText = normalize(trimmed);
+            if (normalizedText.isEmpty()) {
+                return this;
+            }
+            Suggestion suggestion = suggestions.computeIfAbsent(normalizedText, key -> new Suggestion(trimmed, key));
+            suggestion.weight += weight;
+            return this;
+        }
+
+        SearchSuggestions build() {
+            MutableNode root = new MutableNode();
+            for (Suggestion suggestion : suggestions.values()) {
+                String normalizedText = suggestion.normalizedText;
+                for (int start = 0; start < normalizedText.length(); start++) {
+                    if (start == 0 || normalizedText.charAt(start - 1) == ' ') {
+                        MutableNode node = root;
+                        int end = Math.min(normalizedText.length(), start + MAX_KEY_LENGTH);
+                        for (int i = start; i < end; i++) {
+                            node = node.children.computeIfAbsent(normalizedText.charAt(i), c -> new MutableNode());
+                        }
+                        node.suggestions.add(suggestion);
+                    }
+                }
+            }
+            return new SearchSuggestions(root.freeze());
+        }
+    }
+
+    private static class MutableNode {
+
+        private final Map<Character, MutableNode> children = new TreeMap<>();
+        private final List<Suggestion> suggestions = new ArrayList<>(1);
+
+        /**
+         * Returns the compact node of this one, with the best suggestions of this node and the
+         * ones below it.
+         */
+        private Node freeze() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            // a text can be below a node through several of its words
+            Set<Suggestion> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+            candidates.addAll(suggestions);
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> child : children.entrySet()) {
+                keys[i] = child.getKey();
+                nodes[i] = child.getValue().freeze();
+                candidates.addAll(Arrays.asList(nodes[i].best));
+                i++;
+            }
+            List<Suggestion> best = new ArrayList<>(candidates);
+            best.sort(BEST_FIRST);
+            return new Node(keys, nodes, best.subList(0, Math.min(best.size(), MAX_SUGGESTIONS)).toArray(new Suggestion[0]));
+        }
+    }
+
+    private static class Node {
+
+        private final char[] keys;
+        private final Node[] children;
+        private final Suggestion[] best;
+
+        private Node(char[] keys, Node[] children, Suggestion[] best) {
+            this.keys = keys;
+            this.children = children;
+            this.best = best;
+        }
+
+        private Node child(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i < 0 ? null : children[i];
+        }
+    }
+
+    private static class Suggestion {
+
+        private final String text;
+        private final String normalizedText;
+        private int weight;
+
+        private Suggestion(String text, String normalizedText) {
+            this.text = text;
+            this.normalizedText = normalizedText;
+        }
+
+        private boolean hasWordStartingWith(String normalizedPrefix) {
+            return normalizedText.startsWith(normalizedPrefix) || normalizedText.contains(" " + normalizedPrefix);
+        }
+    }
+}
@@ -43,19 +43,30 @@ import com.gluonhq.charm.glisten.control.AppBar;
 import com.gluonhq.charm.glisten.control.CharmListView;
 import com.gluonhq.charm.glisten.mvc.View;
 import com.gluonhq.charm.glisten.visual.MaterialDesignIcon;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
+import javafx.util.Duration;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class SearchPresenter extends GluonPresenter<DevoxxApplication> {
 
     private static final int MIN_CHARACTERS = 3;
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
     private Placeholder emptySearchPlaceholder = new Placeholder(DevoxxBundle.getString("OTN.SEARCH.PLACEHOLDER"), MaterialDesignIcon.SEARCH),
                         noResultsPlaceholder = new Placeholder(DevoxxBundle.getString("OTN.SEARCH.NO_RESULTS"), MaterialDesignIcon.SEARCH);
 
@@ -67,6 +78,7 @@ public class SearchPresenter extends GluonPresenter<DevoxxApplication> {
 
     private TextField searchTextField;
     private Button clearButton;
+    private final ContextMenu suggestionsMenu = new ContextMenu();
     
     @Inject
     private Service service;
@@ -75,12 +87,22 @@ public class SearchPresenter extends GluonPresenter<DevoxxApplication> {
     private DevoxxSearch devoxxSearch;
     
     private ObservableList<Searchable> results;
-    private ObservableList<Searchable> prefixResults;
-    private String prefix;
+
+    // searches run one at a time, only once typing pauses
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName("SearchThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DELAY);
+    private Future<?> runningSearch;
+
+    // increased for every change of the search text, results of older searches are dropped
+    private volatile long searchGeneration;
     
     public void initialize() {
         results = FXCollections.observableArrayList();
-        prefixResults = FXCollections.observableArrayList();
         searchTextField = new TextField();
         searchTextField.getStyleClass().add("search-text-field");
         searchTextField.setPromptText(DevoxxBundle.getString("OTN.SEARCH.PROMPT"));
@@ -94,21 +116,14 @@ public class SearchPresenter extends GluonPresenter<DevoxxApplication> {
         clearButton.disableProperty().bind(Bindings.createBooleanBinding(() -> {
                 final String text = searchTextField.getText();
                 if (text.isEmpty()) {
+                    cancelSearch();
                     searchListView.itemsProperty().clear();
-                } else if (text.length() == MIN_CHARACTERS) {
-                    // initial search
-                    prefix = text;
-                    backgroundSearch().start();
-                } else if (text.length() > MIN_CHARACTERS) {
-                    // while typing more characters, use the initial results to refine
-                    // the search over those results.
-                    if (prefix.equals(text.substring(0, MIN_CHARACTERS))) {
-                        refineBackgroundSearch().start();
-                    } else {
-                        // Whenever the prefix changes, do a full search again
-                        prefix = text.substring(0, MIN_CHARACTERS);
-                        backgroundSearch().start();
-                    }
+                } else if (text.length() < MIN_CHARACTERS) {
+                    cancelSearch();
+                } else {
+                    // every search is ranked over the whole index, as the results of a shorter
+                    // text are limited to its best matches and can't be refined
+                    scheduleSearch();
                 }
                 return text.isEmpty();
             }, searchTextField.textProperty()));
@@ -137,8 +152,11 @@ public class SearchPresenter extends GluonPresenter<DevoxxApplication> {
             }
             appBar.setPrefHeight(-1);
             searchTextField.clear();
+            suggestionsMenu.hide();
         });
 
+        searchDebounce.setOnFinished(e -> startSearch());
+
         searchListView.setPlaceholder(emptySearchPlaceholder);
         searchTextField.textProperty().addListener((observable, oldValue, newValue) -> {
             if (!newValue.isEmpty()) {
@@ -146,6 +164,7 @@ public class SearchPresenter extends GluonPresenter<DevoxxApplication> {
             } else {
                 searchListView.setPlaceholder(emptySearchPlaceholder);
             }
+            showSuggestions(newValue);
         });
         searchListView.setHeadersFunction(item -> item.getClass().toString());
         searchListView.setCellFactory(p -> new SearchCell(service));
@@ -160,32 +179,73 @@ public class SearchPresenter extends GluonPresenter<DevoxxApplication> {
                         clearButton.prefWidth(-1));
     }
     
-    private Thread backgroundSearch() {
-        Runnable task = () -> {
-            ObservableList<Searchable> search1 = devoxxSearch.search(searchTextField.getText());
+    /**
+     * Shows the suggested search texts for the text typed so far, from the first character.
+     * Picking a suggestion searches for it.
+     */
+    private void showSuggestions(String text) {
+        List<MenuItem> items = new ArrayList<>();
+        if (!text.trim().isEmpty()) {
+            for (String suggestion : devoxxSearch.suggest(text)) {
+                if (suggestion.equalsIgnoreCase(text.trim())) {
+                    continue;
+                }
+                MenuItem item = new MenuItem(suggestion);
+                item.setOnAction(e -> {
+                    searchTextField.setText(suggestion);
+                    searchTextField.positionCaret(suggestion.length());
+                });
+                items.add(item);
+            }
+        }
+        suggestionsMenu.getItems().setAll(items);
+        if (items.isEmpty() || searchTextField.getScene() == null) {
+            suggestionsMenu.hide();
+        } else if (!suggestionsMenu.isShowing()) {
+            suggestionsMenu.show(searchTextField, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Schedules a search for the current text, once typing pauses. Searches that are running
+     * or scheduled for a previous text are superseded.
+     */
+    private void scheduleSearch() {
+        searchGeneration++;
+        searchDebounce.playFromStart();
+    }
+
+    private void cancelSearch() {
+        searchGeneration++;
+        searchDebounce.stop();
+        if (runningSearch != null) {
+            runningSearch.cancel(true);
+            runningSearch = null;
+        }
+    }
+
+    private void startSearch() {
+        if (runningSearch != null) {
+            runningSearch.cancel(true);
+        }
+        final long generation = searchGeneration;
+        final String text = searchTextField.getText();
+
+        runningSearch = searchExecutor.submit(() -> {
+            List<Searchable> searchResults = devoxxSearch.search(text);
+            if (isSuperseded(generation)) {
+                return;
+            }
             Platform.runLater(() -> {
-                results.setAll(search1);
-                // Keep the initial results on a list to refine the search based on them
-                prefixResults.setAll(results);
+                if (generation == searchGeneration) {
+                    results.setAll(searchResults);
+                }
             });
-        };
-        Thread thread = new Thread(task);
-        thread.setDaemon(true);
-        return thread;
+        });
     }
-    
-    private Thread refineBackgroundSearch() {
-        Runnable task = () -> {
-            // Uses the initial results to refine the search based on them
-            // We don't update the prefixResults list, as this will imply losing elements from it,
-            // and in case the user hits the back key, there won't be the same items to perform the search
-            // as there were before
-            ObservableList<Searchable> refineSearch = devoxxSearch.refineSearch(searchTextField.getText(), prefixResults);
-            Platform.runLater(() -> results.setAll(refineSearch));
-        };
-        Thread thread = new Thread(task);
-        thread.setDaemon(true);
-        return thread;
+
+    private boolean isSuperseded(long generation) {
+        return generation != searchGeneration || Thread.currentThread().isInterrupted();
     }
 
     private void addViewChangeListener(CharmListView<Searchable, String> searchListView) {
@@ -49,7 +49,8 @@ import com.gluonhq.charm.glisten.control.BottomNavigation;
 import com.gluonhq.charm.glisten.control.BottomNavigationButton;
 import com.gluonhq.charm.glisten.mvc.View;
 import com.gluonhq.charm.glisten.visual.MaterialDesignIcon;
-import javafx.beans.property.ReadOnlyListProperty;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -84,6 +85,8 @@ public class SessionPresenter extends GluonPresenter<DevoxxApplication> {
 
     private Node favoriteBtn;
     private Toggle lastSelectedButton;
+    // only the listener of the summary that is shown is kept, the talk refers to it weakly
+    private InvalidationListener detailsListener;
 
     public void initialize() {
         sessionView.setOnShowing(event -> {
@@ -137,6 +140,16 @@ public class SessionPresenter extends GluonPresenter<DevoxxApplication> {
         }
     }
 
+    private void addTags(FlowPane flowPane, List<Tag> tags) {
+        flowPane.getChildren().clear();
+        if (tags != null) {
+            for (Tag tag : tags) {
+                if (tag.getValue() != null && !tag.getValue().isEmpty())
+                    flowPane.getChildren().add(createTag(tag.getValue()));
+            }
+        }
+    }
+
     private BottomNavigation createBottomNavigation(final Session session) {
 
         BottomNavigation bottomNavigation = new BottomNavigation();
@@ -150,12 +163,16 @@ public class SessionPresenter extends GluonPresenter<DevoxxApplication> {
 
             final FlowPane flowPane = new FlowPane();
             flowPane.getStyleClass().add("tag-container");
-            final List<Tag> tags = session.getTalk().getTags();
-            if (tags != null) {
-                for (Tag tag : tags) {
-                    if (tag.getValue() != null && !tag.getValue().isEmpty())
-                        flowPane.getChildren().add(createTag(tag.getValue()));
-                }
+            addTags(flowPane, session.getTalk().getTags());
+
+            // the schedule only contains the summary once it has been retrieved
+            if (!session.getTalk().isDetailsRetrieved()) {
+                detailsListener = o -> {
+                    sessionSummary.setText(session.getSummary());
+                    addTags(flowPane, session.getTalk().getTags());
+                };
+                session.getTalk().detailsRetrievedProperty().addListener(new WeakInvalidationListener(detailsListener));
+                service.retrieveSessionDetails(session);
             }
 
             final ScrollPane scrollPane = createScrollPane(sessionSummary);
@@ -231,17 +248,12 @@ public class SessionPresenter extends GluonPresenter<DevoxxApplication> {
     
     private ObservableList<Speaker> fetchSpeakers(Session activeSession) {
         ObservableList<Speaker> speakers = FXCollections.observableArrayList();
-        final ReadOnlyListProperty<Speaker> speakersList = service.retrieveSpeakers();
         if (activeSession.getTalk().getSpeakers() != null) {
             for (TalkSpeaker talkSpeaker : activeSession.getTalk().getSpeakers()) {
                 Link link = talkSpeaker.getLink();
                 if (link != null && link.getHref() != null && !link.getHref().isEmpty()) {
                     String speakerUUID = link.getHref().substring(link.getHref().lastIndexOf('/') + 1);
-                    for (Speaker speaker : speakersList) {
-                        if (speaker.getUuid().equals(speakerUUID)) {
-                            speakers.add(speaker);
-                        }
-                    }
+                    service.findSpeaker(speakerUUID).ifPresent(speakers::add);
                 }
             }
         }
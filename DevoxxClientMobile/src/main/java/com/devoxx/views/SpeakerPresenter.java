@@ -142,15 +142,9 @@ public class SpeakerPresenter extends GluonPresenter<DevoxxApplication> {
     private ObservableList<Session> fetchSessions(Speaker activeSpeaker) {
         ObservableList<Session> speakerSessions = FXCollections.observableArrayList();
         if (activeSpeaker.getAcceptedTalks() != null) {
-            List<Session> sessions = service.retrieveSessions();
             List<Talk> acceptedTalks = activeSpeaker.getAcceptedTalks();
             for (Talk acceptedTalk : acceptedTalks) {
-                for (Session session : sessions) {
-                    if (acceptedTalk.getId().equals(session.getTalk().getId())) {
-                        speakerSessions.add(session);
-                        break;
-                    }
-                }
+                service.findSession(acceptedTalk.getId()).ifPresent(speakerSessions::add);
             }
         }
         return speakerSessions;
@@ -55,7 +55,6 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 
 import java.util.List;
-import java.util.Optional;
 
 import static com.devoxx.views.helper.SessionTrack.fetchPseudoClassForTrack;
 
@@ -185,19 +184,7 @@ public class ScheduleCell extends CharmListCell<Session> {
             ((VBox) listTile.getChildren().get(0)).getChildren().add(startDateLabel);
         }
 
-        Optional<Favorite> favorite = Optional.empty();
-        for (Favorite fav : service.retrieveFavorites()) {
-            if (fav.getId().equals(session.getTalk().getId())) {
-                favorite = Optional.of(fav);
-                break;
-            }
-        }
-        Favorite fav = favorite.orElseGet(() -> {
-            Favorite emptyFavorite = new Favorite();
-            emptyFavorite.setId(session.getTalk().getId());
-            service.retrieveFavorites().add(emptyFavorite);
-            return emptyFavorite;
-        });
+        Favorite fav = service.retrieveFavorite(session.getTalk().getId());
 
         // Hacky Code as it uses internals of ListTile
         final VBox vBox = (VBox) listTile.getChildren().get(0);
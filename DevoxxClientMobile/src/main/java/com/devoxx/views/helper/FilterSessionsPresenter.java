@@ -331,8 +331,9 @@ public class FilterSessionsPresenter extends GluonPresenter<DevoxxApplication> {
     }
 
     private boolean checkDay(Session session) {
+        int dayIndex = session.getDayIndex() > 0 ? session.getDayIndex() : service.getConference().getConferenceDayIndex(session.getStartDate());
         for (Node node : dayFilter.getChildren()) {
-            if (((CheckBox) node).isSelected() && service.getConference().getConferenceDayIndex(session.getStartDate()) == (Integer) node.getUserData()) {
+            if (((CheckBox) node).isSelected() && dayIndex == (Integer) node.getUserData()) {
                 return true;
             }
         }
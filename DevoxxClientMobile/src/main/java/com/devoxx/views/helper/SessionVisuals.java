@@ -55,7 +55,6 @@ import javax.inject.Singleton;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.logging.Logger;
 
 import static com.gluonhq.charm.glisten.visual.MaterialDesignIcon.FAVORITE;
@@ -146,19 +145,7 @@ public class SessionVisuals {
         ToggleButton favButton = buildButton(SessionListType.FAVORITES, session);
         Label favCounter = new Label();
         favCounter.getStyleClass().add("fav-counter");
-        Optional<Favorite> favorite = Optional.empty();
-        for (Favorite fav : service.retrieveFavorites()) {
-            if (fav.getId().equals(session.getTalk().getId())) {
-                favorite = Optional.of(fav);
-                break;
-            }
-        }
-        Favorite fav = favorite.orElseGet(() -> {
-            Favorite emptyFavorite = new Favorite();
-            emptyFavorite.setId(session.getTalk().getId());
-            service.retrieveFavorites().add(emptyFavorite);
-            return emptyFavorite;
-        });
+        Favorite fav = service.retrieveFavorite(session.getTalk().getId());
 
         favCounter.textProperty().bind(fav.favsProperty().asString());
         favCounter.managedProperty().bind(fav.favsProperty().greaterThanOrEqualTo(10));
@@ -209,6 +196,7 @@ public class SessionVisuals {
             listRemove(actualSession, listType);
         }
         if (listType == SessionListType.FAVORITES) {
+            // the change is shown right away by the service, the refresh brings the counts of other users
             service.refreshFavorites();
         }
     }
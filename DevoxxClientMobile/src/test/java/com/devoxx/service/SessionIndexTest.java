@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.service;
+
+import com.devoxx.model.Link;
+import com.devoxx.model.Session;
+import com.devoxx.model.Talk;
+import com.devoxx.model.TalkSpeaker;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SessionIndexTest {
+
+    private static final String SPEAKERS = "https://cfp.devoxx.be/api/conferences/DVBE17/speakers/";
+
+    @Test
+    public void findsSessionsByTalkIdAndSpeaker() {
+        Session first = session("talk1", "uuid1", "uuid2");
+        Session second = session("talk2", "uuid2");
+        SessionIndex index = new SessionIndex();
+        index.addAll(Arrays.asList(first, second));
+
+        assertSame(first, index.findByTalkId("talk1").get());
+        assertSame(second, index.findByTalkId("talk2").get());
+        assertFalse(index.findByTalkId("talk3").isPresent());
+        assertFalse(index.findByTalkId(null).isPresent());
+
+        assertEquals(Collections.singletonList(first), index.findBySpeakerUuid("uuid1"));
+        assertEquals(Arrays.asList(first, second), index.findBySpeakerUuid("uuid2"));
+        assertTrue(index.findBySpeakerUuid("uuid3").isEmpty());
+        assertTrue(index.findBySpeakerUuid(null).isEmpty());
+    }
+
+    @Test
+    public void removesWithTheKeysTheSessionWasIndexedWith() {
+        Session session = session("talk1", "uuid1");
+        SessionIndex index = new SessionIndex();
+        index.add(session);
+
+        // the session changed after it was indexed
+        session.getTalk().setId("talk2");
+        index.remove(session);
+
+        assertFalse(index.findByTalkId("talk1").isPresent());
+        assertFalse(index.findByTalkId("talk2").isPresent());
+        assertTrue(index.findBySpeakerUuid("uuid1").isEmpty());
+    }
+
+    @Test
+    public void addingAgainReindexes() {
+        Session session = session("talk1", "uuid1");
+        SessionIndex index = new SessionIndex();
+        index.add(session);
+
+        session.getTalk().setId("talk2");
+        index.add(session);
+
+        assertFalse(index.findByTalkId("talk1").isPresent());
+        assertSame(session, index.findByTalkId("talk2").get());
+        assertEquals(Collections.singletonList(session), index.findBySpeakerUuid("uuid1"));
+    }
+
+    @Test
+    public void returnedSessionsDontFollowTheIndex() {
+        Session first = session("talk1", "uuid1");
+        SessionIndex index = new SessionIndex();
+        index.add(first);
+
+        List<Session> sessions = index.findBySpeakerUuid("uuid1");
+        index.add(session("talk2", "uuid1"));
+        index.remove(first);
+
+        assertEquals(Collections.singletonList(first), sessions);
+    }
+
+    @Test
+    public void clearRemovesEverything() {
+        SessionIndex index = new SessionIndex();
+        index.addAll(Arrays.asList(session("talk1", "uuid1"), new Session()));
+        index.clear();
+
+        assertFalse(index.findByTalkId("talk1").isPresent());
+        assertTrue(index.findBySpeakerUuid("uuid1").isEmpty());
+    }
+
+    @Test
+    public void speakerUuidIsTheLastSegmentOfTheLink() {
+        assertEquals("uuid1", SessionIndex.getSpeakerUuid(speaker("uuid1")));
+        assertNull(SessionIndex.getSpeakerUuid(new TalkSpeaker()));
+        assertNull(SessionIndex.getSpeakerUuid(null));
+    }
+
+    private static Session session(String talkId, String... speakerUuids) {
+        Talk talk = new Talk();
+        talk.setId(talkId);
+        TalkSpeaker[] speakers = new TalkSpeaker[speakerUuids.length];
+        for (int i = 0; i < speakerUuids.length; i++) {
+            speakers[i] = speaker(speakerUuids[i]);
+        }
+        talk.setSpeakers(Arrays.asList(speakers));
+        Session session = new Session();
+        session.setTalk(talk);
+        return session;
+    }
+
+    private static TalkSpeaker speaker(String uuid) {
+        TalkSpeaker speaker = new TalkSpeaker();
+        speaker.setLink(new Link(SPEAKERS + uuid, "http://cfp.devoxx.be/api/profile/speaker", "Speaker"));
+        return speaker;
+    }
+}
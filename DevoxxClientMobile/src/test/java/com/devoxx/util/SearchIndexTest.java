@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.util;
+
+import com.devoxx.model.Searchable;
+import javafx.beans.Observable;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchIndexTest {
+
+    @Test
+    public void findsItemsContainingEveryToken() {
+        Item java = new Item("Java Language Futures");
+        Item javaScript = new Item("JavaScript for Java developers");
+        Item kotlin = new Item("Kotlin coroutines");
+        SearchIndex index = new SearchIndex();
+        index.attach(0, FXCollections.observableArrayList(java, javaScript, kotlin));
+
+        assertEquals(2, index.find("java", 10, 0).size());
+        assertEquals(Collections.singletonList(javaScript), index.find("script dev", 10, 0));
+        assertEquals(Collections.singletonList(kotlin), index.find("ROUTINE", 10, 0));
+        assertTrue(index.find("scala", 10, 0).isEmpty());
+        assertTrue(index.find("  ", 10, 0).isEmpty());
+    }
+
+    @Test
+    public void ranksWeightedValuesFirst() {
+        Item inSummary = new Item("Reactive streams", "Uses Spring under the hood");
+        Item inTitle = new Item("Spring Boot", "Reactive streams");
+        SearchIndex index = new SearchIndex();
+        index.attach(0, FXCollections.observableArrayList(inSummary, inTitle));
+
+        assertEquals(Arrays.asList(inTitle, inSummary), index.find("spring", 10, 0));
+    }
+
+    @Test
+    public void limitsResultsPerSourceInSourceOrder() {
+        Item session = new Item("Java sessions");
+        Item speaker = new Item("Java speaker");
+        Item otherSpeaker = new Item("Java champion");
+        SearchIndex index = new SearchIndex();
+        index.attach(0, FXCollections.observableArrayList(session));
+        index.attach(1, FXCollections.observableArrayList(speaker, otherSpeaker));
+
+        List<Searchable> results = index.find("java", 1, 1, 0);
+        assertEquals(2, results.size());
+        assertTrue(results.get(0) == speaker || results.get(0) == otherSpeaker);
+        assertEquals(session, results.get(1));
+        assertEquals(Collections.singletonList(session), index.find("java", 10, 0));
+    }
+
+    @Test
+    public void followsListChanges() {
+        Item first = new Item("Microservices");
+        ObservableList<Item> items = FXCollections.observableArrayList(first);
+        SearchIndex index = new SearchIndex();
+        index.attach(0, items);
+
+        Item second = new Item("Micronaut");
+        items.add(second);
+        assertEquals(2, index.find("micro", 10, 0).size());
+
+        items.remove(first);
+        assertEquals(Collections.singletonList(second), index.find("micro", 10, 0));
+
+        ObservableList<Item> replacement = FXCollections.observableArrayList(new Item("Serverless"));
+        index.attach(0, replacement);
+        assertTrue(index.isAttached(0, replacement));
+        assertTrue(index.find("micro", 10, 0).isEmpty());
+    }
+
+    @Test
+    public void reindexesChangedDependencies() {
+        Item item = new Item("Keynote");
+        SearchIndex index = new SearchIndex();
+        index.attach(0, FXCollections.observableArrayList(item));
+        assertTrue(index.find("loom", 10, 0).isEmpty());
+
+        item.summary.set("Project Loom");
+        assertEquals(Collections.singletonList(item), index.find("loom", 10, 0));
+    }
+
+    @Test
+    public void findsMisspelledNames() {
+        Item speaker = new Item("Brian Goetz");
+        speaker.fuzzy = true;
+        Item talk = new Item("Goals of the platform");
+        SearchIndex index = new SearchIndex();
+        index.attach(0, FXCollections.observableArrayList(speaker, talk));
+
+        assertEquals(Collections.singletonList(speaker), index.find("goets", 10, 0));
+        assertEquals(Collections.singletonList(speaker), index.find("brain", 10, 0));
+        assertTrue(index.find("gaols", 10, 0).isEmpty());
+    }
+
+    private static class Item extends Searchable {
+
+        private final String title;
+        private final StringProperty summary = new SimpleStringProperty();
+        private boolean fuzzy;
+
+        private Item(String title) {
+            this(title, null);
+        }
+
+        private Item(String title, String summary) {
+            this.title = title;
+            this.summary.set(summary);
+        }
+
+        @Override
+        public boolean contains(String keyword) {
+            return false;
+        }
+
+        @Override
+        public List<?> searchValues() {
+            return Arrays.asList(title, summary.get());
+        }
+
+        @Override
+        public double searchWeight(int valueIndex) {
+            return valueIndex == 0 ? 3 : 1;
+        }
+
+        @Override
+        public boolean isFuzzySearchValue(int valueIndex) {
+            return fuzzy && valueIndex == 0;
+        }
+
+        @Override
+        public Observable[] searchDependencies() {
+            return new Observable[] {summary};
+        }
+
+        @Override
+        public String toString() {
+            return title;
+        }
+    }
+}
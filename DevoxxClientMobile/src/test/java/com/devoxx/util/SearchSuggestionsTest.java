@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.devoxx.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchSuggestionsTest {
+
+    @Test
+    public void suggestsTextsByTheStartOfAnyWord() {
+        SearchSuggestions suggestions = new SearchSuggestions.Builder()
+                .add("Brian Goetz", 1)
+                .add("Java Language Futures", 1)
+                .add("Going reactive with Spring", 1)
+                .build();
+
+        assertEquals(Collections.singletonList("Brian Goetz"), suggestions.suggest("bri"));
+        assertEquals(Arrays.asList("Brian Goetz", "Going reactive with Spring"), suggestions.suggest("GO"));
+        assertEquals(Collections.singletonList("Java Language Futures"), suggestions.suggest("language fu"));
+        assertTrue(suggestions.suggest("anguage").isEmpty());
+        assertTrue(suggestions.suggest(" ").isEmpty());
+    }
+
+    @Test
+    public void ranksByAddedUpWeight() {
+        SearchSuggestions suggestions = new SearchSuggestions.Builder()
+                .add("Java", 2)
+                .add("JavaFX", 3)
+                .add("java", 2)
+                .build();
+
+        assertEquals(Arrays.asList("Java", "JavaFX"), suggestions.suggest("jav"));
+    }
+
+    @Test
+    public void returnsAtMostEightSuggestions() {
+        SearchSuggestions.Builder builder = new SearchSuggestions.Builder();
+        for (int i = 0; i < 20; i++) {
+            builder.add("Talk " + i, i);
+        }
+        List<String> suggestions = builder.build().suggest("talk");
+        assertEquals(8, suggestions.size());
+        assertEquals("Talk 19", suggestions.get(0));
+    }
+
+    @Test
+    public void checksPrefixesLongerThanTheKeys() {
+        SearchSuggestions suggestions = new SearchSuggestions.Builder()
+                .add("Going reactive with Spring Boot", 1)
+                .add("Going reactive with Spring Cloud", 1)
+                .build();
+
+        assertEquals(Collections.singletonList("Going reactive with Spring Cloud"),
+                suggestions.suggest("going reactive with spring c"));
+        assertTrue(SearchSuggestions.EMPTY.suggest("going").isEmpty());
+    }
+}
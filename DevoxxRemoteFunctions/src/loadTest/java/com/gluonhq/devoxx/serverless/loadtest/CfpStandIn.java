@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An embedded HTTP server that stands in for the CFP REST API, so the remote functions can
+ * be exercised without network access.
+ *
+ * The schedule is seeded from the bundled sessions.json, grouped into one schedule per day.
+ * Every conference id is served the same schedule, under day links of its own, so a new
+ * conference id bypasses the caches of the functions. Responses carry an ETag, and conditional requests are answered with 304. Every request
+ * can be delayed, and a fraction of them can be failed with a 503.
+ */
+public class CfpStandIn implements AutoCloseable {
+
+    public static final String CONFERENCE_ID = "DevoxxStandIn";
+
+    private static final String CONFERENCES_PATH = "/api/conferences/";
+    private static final String SCHEDULES_PATH = "schedules/";
+
+    private final HttpServer server;
+    // the slots of each day, by day
+    private final Map<String, byte[]> days = new LinkedHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile long latencyMillis;
+    private volatile double failureRate;
+
+    public CfpStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("CfpStandIn");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        seedSchedules();
+        server.createContext(CONFERENCES_PATH, this::handleGet);
+        server.createContext("/api/account/credentials", this::handleCredentials);
+        server.start();
+    }
+
+    /**
+     * Returns the endpoint to pass as cfpEndpoint to the remote functions.
+     */
+    public String getCfpEndpoint() {
+        return baseUrl() + "/api";
+    }
+
+    /**
+     * Delays every response by the given number of milliseconds.
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Answers the given fraction of requests, between 0 and 1, with 503 Service Unavailable.
+     */
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void seedSchedules() throws IOException {
+        Map<String, JsonArrayBuilder> slotsByDay = new LinkedHashMap<>();
+        try (InputStream input = CfpStandIn.class.getResourceAsStream("/sessions.json");
+             JsonReader reader = Json.createReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            JsonArray sessions = reader.readArray();
+            for (JsonObject slot : sessions.getValuesAs(JsonObject.class)) {
+                slotsByDay.computeIfAbsent(slot.getString("day", "unknown"), day -> Json.createArrayBuilder()).add(slot);
+            }
+        }
+        for (Map.Entry<String, JsonArrayBuilder> day : slotsByDay.entrySet()) {
+            days.put(day.getKey(), Json.createObjectBuilder().add("slots", day.getValue()).build()
+                    .toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private byte[] schedules(String conferenceId) {
+        JsonArrayBuilder links = Json.createArrayBuilder();
+        for (String day : days.keySet()) {
+            links.add(Json.createObjectBuilder()
+                    .add("href", baseUrl() + CONFERENCES_PATH + conferenceId + "/" + SCHEDULES_PATH + day + "/")
+                    .add("rel", "http://cfp.devoxx.be/api/profile/schedule")
+                    .add("title", "Schedule for " + day));
+        }
+        return Json.createObjectBuilder().add("links", links).build().toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the resource at the given path, or null if there is none.
+     */
+    private byte[] resource(String path) {
+        // the path is /api/conferences/{conferenceId}/schedules/ or /api/conferences/{conferenceId}/schedules/{day}/
+        String conferencePath = path.substring(CONFERENCES_PATH.length());
+        int slash = conferencePath.indexOf('/');
+        if (slash <= 0) {
+            return null;
+        }
+        String resourcePath = conferencePath.substring(slash + 1);
+        if (SCHEDULES_PATH.equals(resourcePath)) {
+            return schedules(conferencePath.substring(0, slash));
+        }
+        if (resourcePath.startsWith(SCHEDULES_PATH) && resourcePath.endsWith("/")) {
+            return days.get(resourcePath.substring(SCHEDULES_PATH.length(), resourcePath.length() - 1));
+        }
+        return null;
+    }
+
+    private void handleGet(HttpExchange exchange) throws IOException {
+        if (!beforeResponse(exchange)) {
+            return;
+        }
+        byte[] body = resource(exchange.getRequestURI().getPath());
+        if (body == null) {
+            respond(exchange, 404, null);
+            return;
+        }
+        String etag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        respond(exchange, 200, body);
+    }
+
+    private void handleCredentials(HttpExchange exchange) throws IOException {
+        // drain the multipart form, the stand-in accepts any credentials
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] buffer = new byte[4096];
+            while (input.read(buffer) != -1) {
+                // discard
+            }
+        }
+        if (!beforeResponse(exchange)) {
+            return;
+        }
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, null);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        respond(exchange, 200, UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Applies the latency and failure injection. Returns false if the request was failed.
+     */
+    private boolean beforeResponse(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            respond(exchange, 503, "Injected failure".getBytes(StandardCharsets.UTF_8));
+            return false;
+        }
+        return true;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+        if (body != null) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.loadtest;
+
+import com.gluonhq.devoxx.serverless.feedback.FeedbackLambda;
+import com.gluonhq.devoxx.serverless.feedback.FeedbackMail;
+import com.gluonhq.devoxx.serverless.feedback.InMemoryMailSender;
+import com.gluonhq.devoxx.serverless.retrievesessions.SessionsLambda;
+import com.gluonhq.devoxx.serverless.verifyaccount.VerifyAccountLambda;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the remote functions concurrently against a {@link CfpStandIn}, and reports the
+ * latency percentiles and the allocation per request of each function.
+ *
+ * Arguments: requests per function, concurrency, stand-in latency in ms and stand-in failure
+ * rate, e.g. {@code 500 16 20 0.01}. Allocation is measured on the calling thread, so the
+ * allocation of the parallel day fetches of the sessions function is not included.
+ *
+ * The sessions function is run twice: cold, with a new conference id for every request so
+ * none of them is served from the caches of the function, and warm, with one conference id
+ * whose sessions were retrieved before the run.
+ */
+public class LoadHarness {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long latencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        double failureRate = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+
+        try (CfpStandIn cfp = new CfpStandIn()) {
+            cfp.setLatencyMillis(latencyMillis);
+            cfp.setFailureRate(failureRate);
+            System.out.println("CFP stand-in at " + cfp.getCfpEndpoint() + ", " + requests + " requests per function, concurrency " +
+                    concurrency + ", latency " + latencyMillis + " ms, failure rate " + failureRate);
+
+            AtomicInteger coldConferences = new AtomicInteger();
+            run("sessions cold", requests, concurrency, () ->
+                    retrieveSessions(cfp, CfpStandIn.CONFERENCE_ID + "-" + coldConferences.incrementAndGet()));
+
+            retrieveSessions(cfp, CfpStandIn.CONFERENCE_ID);
+            run("sessions warm", requests, concurrency, () -> retrieveSessions(cfp, CfpStandIn.CONFERENCE_ID));
+
+            String verifyInput = "{\"cfpEndpoint\":\"" + cfp.getCfpEndpoint() + "\",\"email\":\"load@test.com\",\"password\":\"secret\"}";
+            run("verifyAccount", requests, concurrency, () -> {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                new VerifyAccountLambda().handleRequest(new ByteArrayInputStream(verifyInput.getBytes(StandardCharsets.UTF_8)), output, null);
+            });
+
+            FeedbackLambda feedbackLambda = new FeedbackLambda(new InMemoryMailSender());
+            run("feedback", requests, concurrency, () ->
+                    feedbackLambda.handleRequest(new FeedbackMail("Load Test", "load@test.com", "Load test feedback"), null));
+
+            System.out.println("CFP stand-in served " + cfp.getRequestCount() + " requests");
+        }
+    }
+
+    private static void retrieveSessions(CfpStandIn cfp, String conferenceId) throws IOException {
+        String input = "{\"cfpEndpoint\":\"" + cfp.getCfpEndpoint() + "\",\"conferenceId\":\"" + conferenceId + "\"}";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new SessionsLambda().handleRequest(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output, null);
+    }
+
+    private static void run(String name, int requests, int concurrency, Call call) throws Exception {
+        long[] latencies = new long[requests];
+        long[] allocations = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> futures = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            final int request = i;
+            futures.add(executor.submit(() -> {
+                long threadId = Thread.currentThread().getId();
+                long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+                long requestStart = System.nanoTime();
+                try {
+                    call.call();
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+                latencies[request] = System.nanoTime() - requestStart;
+                allocations[request] = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        long totalAllocation = 0;
+        for (long allocation : allocations) {
+            totalAllocation += allocation;
+        }
+        System.out.println(String.format("%-14s p50 %6.1f ms  p99 %6.1f ms  %7.1f req/s  %8d bytes/req  %d failed",
+                name, millis(percentile(latencies, 50)), millis(percentile(latencies, 99)),
+                requests / (elapsed / (double) TimeUnit.SECONDS.toNanos(1)), totalAllocation / requests, failures.get()));
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void call() throws Exception;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.cfp;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gets CFP resources through the circuit breaker of their host, with hedged requests, and
+ * keeps them with their validators, so they are revalidated with conditional requests.
+ *
+ * The resources are cached for as long as the container stays warm. Callers decide when to
+ * fall back to the cached copy of a resource that can't be retrieved.
+ */
+public class CfpResources {
+
+    private final HedgedRequests hedgedRequests;
+
+    // resources by cache key, with the validators to revalidate them
+    private final ConcurrentMap<String, CachedResource<?>> resources = new ConcurrentHashMap<>();
+
+    public CfpResources(HedgedRequests hedgedRequests) {
+        this.hedgedRequests = hedgedRequests;
+    }
+
+    /**
+     * Gets a CFP resource that is cached by its url.
+     */
+    public <T> CachedResource<T> get(WebTarget target, ResourceReader<T> reader) throws IOException {
+        return get(target, target.getUri().toString(), reader);
+    }
+
+    /**
+     * Gets a CFP resource, sending the validators of the cached copy when there is one. The
+     * cached copy is returned when the CFP reports no change. Server errors, timeouts and
+     * unreadable responses count as failures of the circuit breaker of the CFP host, while
+     * requests are hedged based on the latencies of their url.
+     *
+     * @param cacheKey the key of the cached copy, which has to differ for readers that return
+     *                 different values for the same url
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedResource<T> get(WebTarget target, String cacheKey, ResourceReader<T> reader) throws IOException {
+        CachedResource<T> cached = (CachedResource<T>) resources.get(cacheKey);
+
+        // fail fast while the CFP is unavailable, callers fall back to their cached copy
+        String endpoint = target.getUri().getHost();
+        CircuitBreaker breaker = CircuitBreaker.forEndpoint(endpoint);
+        breaker.acquire();
+        boolean failed = true;
+        try {
+            Response response = hedgedRequests.get(target.getUri().toString(), () -> conditionalRequest(target, cached).get());
+            if (cached != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                response.close();
+                failed = false;
+                return cached;
+            }
+            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                failed = response.getStatus() >= Response.Status.INTERNAL_SERVER_ERROR.getStatusCode();
+                // the entity isn't read, so the connection is released before the response is reported
+                response.close();
+                throw new IOException(new WebApplicationException(response));
+            }
+
+            T value;
+            try (InputStream entity = response.readEntity(InputStream.class)) {
+                value = reader.read(entity);
+            }
+            failed = false;
+            CachedResource<T> resource = new CachedResource<>(value,
+                    response.getHeaderString(HttpHeaders.ETAG), response.getHeaderString(HttpHeaders.LAST_MODIFIED));
+            resources.put(cacheKey, resource);
+            return resource;
+        } finally {
+            breaker.record(!failed);
+        }
+    }
+
+    /**
+     * Returns the cached copy of a resource, or null if it was never retrieved.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedResource<T> getCached(String cacheKey) {
+        return (CachedResource<T>) resources.get(cacheKey);
+    }
+
+    private static Invocation.Builder conditionalRequest(WebTarget target, CachedResource<?> cached) {
+        Invocation.Builder request = target.request();
+        if (cached != null) {
+            if (cached.etag != null) {
+                request.header(HttpHeaders.IF_NONE_MATCH, cached.etag);
+            }
+            if (cached.lastModified != null) {
+                request.header(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+        return request;
+    }
+
+    @FunctionalInterface
+    public interface ResourceReader<T> {
+        T read(InputStream input) throws IOException;
+    }
+
+    public static class CachedResource<T> {
+
+        private final T value;
+        private final String etag;
+        private final String lastModified;
+
+        CachedResource(T value, String etag, String lastModified) {
+            this.value = value;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.cfp;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A circuit breaker per CFP endpoint, shared by all invocations of a warm container.
+ *
+ * After {@link #FAILURE_THRESHOLD} consecutive failures the circuit opens, and calls fail
+ * right away with a {@link CircuitOpenException} instead of waiting for the endpoint to time
+ * out. After {@link #OPEN_MILLIS} a single call is let through to probe the endpoint: the
+ * circuit closes again when it succeeds, and stays open when it fails. State changes are
+ * logged.
+ *
+ * Every call that is allowed by {@link #acquire()} has to be followed by {@link #record(boolean)}.
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = Logger.getLogger(CircuitBreaker.class.getName());
+
+    private static final int FAILURE_THRESHOLD = 5;
+    private static final long OPEN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final ConcurrentMap<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String endpoint;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probing;
+
+    private CircuitBreaker(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Returns the circuit breaker of the given endpoint, usually the host name of the CFP.
+     */
+    public static CircuitBreaker forEndpoint(String endpoint) {
+        return BREAKERS.computeIfAbsent(endpoint, CircuitBreaker::new);
+    }
+
+    /**
+     * Checks if a call to the endpoint is allowed.
+     *
+     * @throws CircuitOpenException if the circuit is open, or a probe is already running
+     */
+    public synchronized void acquire() throws CircuitOpenException {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < OPEN_MILLIS) {
+                throw new CircuitOpenException(endpoint);
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probing) {
+                throw new CircuitOpenException(endpoint);
+            }
+            probing = true;
+        }
+    }
+
+    /**
+     * Records the outcome of a call that was allowed by {@link #acquire()}. Client errors are
+     * successful calls, the endpoint itself is healthy.
+     */
+    public synchronized void record(boolean success) {
+        probing = false;
+        if (success) {
+            consecutiveFailures = 0;
+            if (state != State.CLOSED) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= FAILURE_THRESHOLD)) {
+            openedAt = System.currentTimeMillis();
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State newState) {
+        LOGGER.log(newState == State.OPEN ? Level.WARNING : Level.INFO, "Circuit breaker of {0}: {1} -> {2} after {3} consecutive failures",
+                new Object[] {endpoint, state, newState, consecutiveFailures});
+        state = newState;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CircuitBreaker{" + endpoint + ", " + state + ", consecutiveFailures=" + consecutiveFailures + "}";
+    }
+}
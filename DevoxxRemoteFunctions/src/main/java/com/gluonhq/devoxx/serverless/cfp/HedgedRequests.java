@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.cfp;
+
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends idempotent GET requests, and sends a second, hedged request when the first one takes
+ * longer than the given percentile of the recent latencies of its endpoint. The response that
+ * arrives first is used, and the other one is closed.
+ *
+ * Hedging is disabled when no percentile is configured, and for an endpoint until enough
+ * latencies have been recorded.
+ */
+public class HedgedRequests {
+
+    private static final Logger LOGGER = Logger.getLogger(HedgedRequests.class.getName());
+
+    private static final int MIN_SAMPLES = 20;
+    private static final int MAX_SAMPLES = 100;
+
+    // hedged requests run on their own threads, callers may already run on a bounded pool
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName("HedgedRequest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final double percentile;
+    private final ConcurrentMap<String, Latencies> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * @param percentile the percentile of the latencies after which a request is hedged, for
+     *                   instance 95, or 0 to disable hedging
+     */
+    public HedgedRequests(double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * Returns the hedged requests configured with the DEVOXX_HEDGE_PERCENTILE environment variable.
+     */
+    public static HedgedRequests fromEnvironment() {
+        String percentile = System.getenv("DEVOXX_HEDGE_PERCENTILE");
+        return new HedgedRequests(percentile == null || percentile.isEmpty() ? 0 : Double.parseDouble(percentile));
+    }
+
+    /**
+     * Sends the request, which has to be an idempotent GET, and hedges it when it is slow.
+     *
+     * @param endpoint the endpoint of the request, that the latencies are kept for
+     * @param request sends the request, it can be called twice
+     */
+    public Response get(String endpoint, Supplier<Response> request) throws IOException {
+        Latencies endpointLatencies = latencies.computeIfAbsent(endpoint, key -> new Latencies());
+        long threshold = percentile > 0 ? endpointLatencies.percentile(percentile) : -1;
+        if (threshold < 0) {
+            long start = System.nanoTime();
+            Response response = request.get();
+            endpointLatencies.add(start);
+            return response;
+        }
+
+        CompletableFuture<Response> first = send(request, endpointLatencies);
+        try {
+            return first.get(threshold, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.log(Level.INFO, "Hedging request to {0} after {1} ms", new Object[] {endpoint, threshold});
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+        CompletableFuture<Response> second = send(request, endpointLatencies);
+
+        // the first response wins, it only fails when both requests fail
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Response> attempt : Arrays.asList(first, second)) {
+            attempt.whenComplete((response, throwable) -> {
+                if (throwable == null) {
+                    if (!result.complete(response)) {
+                        response.close();
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(throwable);
+                }
+            });
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static CompletableFuture<Response> send(Supplier<Response> request, Latencies endpointLatencies) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            Response response = request.get();
+            endpointLatencies.add(start);
+            return response;
+        }, EXECUTOR);
+    }
+
+    private static IOException rethrow(Throwable throwable) throws IOException {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        throw new IOException(cause);
+    }
+
+    /**
+     * The latencies of the most recent requests to an endpoint, in milliseconds.
+     */
+    private static class Latencies {
+
+        private final long[] samples = new long[MAX_SAMPLES];
+        private int count;
+        private int next;
+
+        private synchronized void add(long startNanos) {
+            samples[next] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            next = (next + 1) % MAX_SAMPLES;
+            count = Math.min(count + 1, MAX_SAMPLES);
+        }
+
+        private synchronized long percentile(double percentile) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+    }
+}
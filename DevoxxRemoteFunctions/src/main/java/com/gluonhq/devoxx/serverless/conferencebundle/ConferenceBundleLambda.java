@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.conferencebundle;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+public class ConferenceBundleLambda implements RequestStreamHandler {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        try (JsonReader reader = Json.createReader(input)) {
+            JsonObject jsonInput = reader.readObject();
+            String cfpEndpoint = jsonInput.getString("cfpEndpoint");
+            String conferenceId = jsonInput.getString("conferenceId");
+            // optional: the hash of the bundle the client has, and "gzip" for a compressed response
+            String hash = jsonInput.getString("hash", null);
+            boolean gzip = "gzip".equals(jsonInput.getString("encoding", null));
+            try (OutputStream out = gzip ? new GZIPOutputStream(output, BUFFER_SIZE) : new BufferedOutputStream(output, BUFFER_SIZE)) {
+                new ConferenceBundleRetriever().retrieve(cfpEndpoint, conferenceId, hash, out);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        InputStream input = new ByteArrayInputStream("{\"cfpEndpoint\":\"https://cfp.devoxx.be/api\",\"conferenceId\":\"DVBE17\"}".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ConferenceBundleLambda().handleRequest(input, output, null);
+        System.out.println("output = " + new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
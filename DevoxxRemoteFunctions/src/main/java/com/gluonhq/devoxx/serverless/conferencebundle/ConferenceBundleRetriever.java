@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.conferencebundle;
+
+import com.gluonhq.devoxx.serverless.cfp.CfpResources;
+import com.gluonhq.devoxx.serverless.cfp.HedgedRequests;
+import com.gluonhq.devoxx.serverless.retrievesessions.SessionsRetriever;
+import org.glassfish.jersey.client.ClientProperties;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonStructure;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Assembles the data that the client needs when a conference is selected in a single JSON
+ * object: the conference metadata, the slots of the schedule list, the speakers, the tracks
+ * and the session types.
+ *
+ * The bundle carries a format version and a hash of its content. When the client sends the
+ * hash of the bundle it already has, and the content didn't change, only the version and the
+ * hash are returned. Assembled bundles are cached for as long as the container stays warm.
+ */
+public class ConferenceBundleRetriever {
+
+    private static final Logger LOGGER = Logger.getLogger(ConferenceBundleRetriever.class.getName());
+
+    /**
+     * The version of the bundle format, increased on incompatible changes.
+     */
+    public static final int BUNDLE_VERSION = 1;
+
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+    private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(10);
+
+    private static final Client client = ClientBuilder.newClient()
+            .property(ClientProperties.CONNECT_TIMEOUT, CONNECT_TIMEOUT)
+            .property(ClientProperties.READ_TIMEOUT, READ_TIMEOUT);
+
+    // CFP resources with the validators to revalidate them, slow requests are hedged when
+    // DEVOXX_HEDGE_PERCENTILE is set
+    private static final CfpResources RESOURCES = new CfpResources(HedgedRequests.fromEnvironment());
+
+    // the parts of a bundle are fetched in parallel
+    private static final ExecutorService PART_EXECUTOR = Executors.newFixedThreadPool(5, runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName("BundleRetriever");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final long CACHE_TTL = TimeUnit.MINUTES.toMillis(5);
+
+    private static final ConcurrentMap<String, CachedBundle> BUNDLES = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the bundle as UTF-8 encoded JSON to the given stream.
+     *
+     * @param knownHash the hash of the bundle that the client already has, or null
+     */
+    public void retrieve(String cfpEndpoint, String conferenceId, String knownHash, OutputStream output) throws IOException {
+        String key = cfpEndpoint + "|" + conferenceId;
+        CachedBundle bundle = BUNDLES.get(key);
+        if (bundle == null || !bundle.isFresh()) {
+            try {
+                CachedBundle assembled = assemble(cfpEndpoint, conferenceId);
+                BUNDLES.put(key, assembled);
+                bundle = assembled;
+            } catch (IOException | RuntimeException e) {
+                if (bundle == null) {
+                    throw e;
+                }
+                LOGGER.log(Level.WARNING, "Failed to assemble bundle of " + conferenceId + ", serving cached bundle", e);
+            }
+        }
+
+        output.write(("{\"version\":" + BUNDLE_VERSION + ",\"hash\":\"" + bundle.hash + "\"").getBytes(StandardCharsets.UTF_8));
+        if (bundle.hash.equals(knownHash)) {
+            output.write(",\"unchanged\":true".getBytes(StandardCharsets.UTF_8));
+        } else {
+            for (Map.Entry<String, byte[]> part : bundle.parts.entrySet()) {
+                output.write((",\"" + part.getKey() + "\":").getBytes(StandardCharsets.UTF_8));
+                output.write(part.getValue());
+            }
+        }
+        output.write('}');
+    }
+
+    private CachedBundle assemble(String cfpEndpoint, String conferenceId) throws IOException {
+        WebTarget conferenceTarget = client.target(cfpEndpoint).path("conferences").path(conferenceId);
+
+        // the order of the parts is the order of the bundle members
+        Map<String, CompletableFuture<byte[]>> futures = new LinkedHashMap<>();
+        futures.put("conference", fetchPart(() -> get(conferenceTarget, structure -> structure)));
+        futures.put("slots", fetchPart(() -> {
+            // the slots come from the sessions cache of this container when they are fresh
+            ByteArrayOutputStream slots = new ByteArrayOutputStream();
+            new SessionsRetriever().retrieve(cfpEndpoint, conferenceId, "list", slots);
+            return slots.toByteArray();
+        }));
+        futures.put("speakers", fetchPart(() -> get(conferenceTarget.path("speakers"), structure -> structure)));
+        futures.put("tracks", fetchPart(() -> get(conferenceTarget.path("tracks"),
+                structure -> arrayMember(structure, "tracks"))));
+        futures.put("sessionTypes", fetchPart(() -> get(conferenceTarget.path("proposalTypes"),
+                structure -> arrayMember(structure, "proposalTypes"))));
+
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<byte[]>> future : futures.entrySet()) {
+            parts.put(future.getKey(), await(future.getValue()));
+        }
+        return new CachedBundle(parts, hash(parts));
+    }
+
+    /**
+     * Gets a part from the CFP, through the circuit breaker of the CFP host. Each url is always
+     * read with the same extractor, so the part is cached by its url.
+     */
+    private static byte[] get(WebTarget target, Function<JsonStructure, JsonStructure> extractor) throws IOException {
+        return RESOURCES.get(target, input -> {
+            try (JsonReader reader = Json.createReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                return extractor.apply(reader.read()).toString().getBytes(StandardCharsets.UTF_8);
+            }
+        }).getValue();
+    }
+
+    private static JsonStructure arrayMember(JsonStructure structure, String name) {
+        JsonArray array = structure instanceof JsonObject ? ((JsonObject) structure).getJsonArray(name) : null;
+        return array == null ? Json.createArrayBuilder().build() : array;
+    }
+
+    private static String hash(Map<String, byte[]> parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(BUNDLE_VERSION).getBytes(StandardCharsets.UTF_8));
+            for (Map.Entry<String, byte[]> part : parts.entrySet()) {
+                digest.update(part.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update(part.getValue());
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CompletableFuture<byte[]> fetchPart(PartReader reader) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return reader.read();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, PART_EXECUTOR);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface PartReader {
+        byte[] read() throws IOException;
+    }
+
+    private static class CachedBundle {
+
+        private final Map<String, byte[]> parts;
+        private final String hash;
+        private final long created = System.currentTimeMillis();
+
+        private CachedBundle(Map<String, byte[]> parts, String hash) {
+            this.parts = parts;
+            this.hash = hash;
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() - created < CACHE_TTL;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.feedback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Groups the mails that are sent within a time window into one digest mail.
+ *
+ * The digest is sent when the window of its first mail has passed, or when it holds the
+ * maximum number of mails. The window is timed in the background, but a function container
+ * is frozen between invocations, so a digest may only be sent with the next invocation.
+ * Mails that are still pending when a container is discarded are lost, which is why this
+ * mode has to be enabled explicitly.
+ *
+ * When a digest can't be sent, its mails are queued again, ahead of the mails that arrived
+ * meanwhile, and are sent with the next digest.
+ */
+public class DigestMailSender implements MailSender {
+
+    private static final Logger LOG = Logger.getLogger(DigestMailSender.class.getName());
+
+    private final MailSender delegate;
+    private final String digestSubject;
+    private final long windowMillis;
+    private final int maxMails;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName("DigestTimer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<String> pending = new ArrayList<>();
+    private long windowStart;
+
+    /**
+     * @param digestSubject the subject of the digest mails, which replaces the subjects of the
+     *                      mails that it groups
+     */
+    public DigestMailSender(MailSender delegate, String digestSubject, long windowMillis, int maxMails) {
+        this.delegate = delegate;
+        this.digestSubject = digestSubject;
+        this.windowMillis = windowMillis;
+        this.maxMails = maxMails;
+    }
+
+    /**
+     * Queues the text for the next digest. The subject is not used, every digest is sent with
+     * the digest subject.
+     */
+    @Override
+    public void send(String subject, String text) throws Exception {
+        List<String> digest = null;
+        synchronized (this) {
+            startWindow();
+            pending.add(text);
+            if (pending.size() >= maxMails || System.currentTimeMillis() - windowStart >= windowMillis) {
+                digest = drain();
+            }
+        }
+        if (digest != null) {
+            sendDigest(digest);
+        }
+    }
+
+    /**
+     * Sends the pending mails right away.
+     */
+    public void flush() throws Exception {
+        List<String> digest;
+        synchronized (this) {
+            digest = drain();
+        }
+        if (!digest.isEmpty()) {
+            sendDigest(digest);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LOG.log(Level.SEVERE, "The digest was not sent. Error message: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean defersSending() {
+        return true;
+    }
+
+    // starts the window of the first pending mail
+    private void startWindow() {
+        if (pending.isEmpty()) {
+            windowStart = System.currentTimeMillis();
+            timer.schedule(this::flushQuietly, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private List<String> drain() {
+        List<String> digest = new ArrayList<>(pending);
+        pending.clear();
+        return digest;
+    }
+
+    private void sendDigest(List<String> texts) throws Exception {
+        try {
+            if (texts.size() == 1) {
+                delegate.send(digestSubject, texts.get(0));
+                return;
+            }
+            StringBuilder digest = new StringBuilder();
+            for (int i = 0; i < texts.size(); i++) {
+                if (i > 0) {
+                    digest.append("\n\n----------------------------------------\n\n");
+                }
+                digest.append(texts.get(i));
+            }
+            delegate.send(digestSubject + " (" + texts.size() + " messages)", digest.toString());
+            LOG.log(Level.INFO, "Digest of " + texts.size() + " messages sent");
+        } catch (Exception e) {
+            synchronized (this) {
+                startWindow();
+                pending.addAll(0, texts);
+            }
+            throw e;
+        }
+    }
+}
@@ -25,13 +25,10 @@
  */
 package com.gluonhq.devoxx.serverless.feedback;
 
-import com.amazonaws.regions.Regions;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
-import com.amazonaws.services.simpleemail.AmazonSimpleEmailService;
-import com.amazonaws.services.simpleemail.AmazonSimpleEmailServiceClientBuilder;
-import com.amazonaws.services.simpleemail.model.*;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,34 +40,73 @@ public class FeedbackLambda implements RequestHandler<FeedbackMail, String> {
     private static final String TO = "info@devoxx.com";
     private static final String SUBJECT = "Feedback for Devoxx app";
 
+    private static final int MAX_DIGEST_MAILS = 20;
+
+    private final MailSender sender;
+
+    public FeedbackLambda() {
+        this(DefaultSenderHolder.SENDER);
+    }
+
+    public FeedbackLambda(MailSender sender) {
+        this.sender = sender;
+    }
+
     @Override
     public String handleRequest(FeedbackMail input, Context context) {
         try {
-            AmazonSimpleEmailService client =
-                    AmazonSimpleEmailServiceClientBuilder.standard()
-                            .withRegion(Regions.EU_WEST_1)
-                            .build();
-            SendEmailRequest request = new SendEmailRequest()
-                    .withDestination(new Destination().withToAddresses(TO))
-                    .withMessage(new Message()
-                            .withBody(new Body()
-                                    .withText(new Content()
-                                            .withCharset("UTF-8").withData(
-                                                    input.getName() + " <" + input.getEmail() + "> has submitted the following feedback for the Devoxx Mobile app:" +
-                                                    "\n\n" + input.getMessage())))
-                            .withSubject(new Content()
-                                    .withCharset("UTF-8").withData(SUBJECT)))
-                    .withSource(SOURCE);
-            client.sendEmail(request);
-            LOG.log(Level.INFO, "Email sent!");
+            sender.send(SUBJECT, input.getName() + " <" + input.getEmail() + "> has submitted the following feedback for the Devoxx Mobile app:" +
+                    "\n\n" + input.getMessage());
+            LOG.log(Level.INFO, sender.defersSending() ? "Email queued for the digest" : "Email sent!");
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, "The email was not sent. Error message: " + ex.getMessage());
         }
         return "";
     }
 
+    /**
+     * Creates the sender that is configured with the environment: DEVOXX_MAIL_SENDER=memory keeps
+     * mails in memory instead of sending them with SES, and DEVOXX_FEEDBACK_DIGEST_SECONDS groups
+     * the feedback of that many seconds into one mail.
+     */
+    private static MailSender createSender() {
+        MailSender sender = "memory".equals(System.getenv("DEVOXX_MAIL_SENDER")) ?
+                new InMemoryMailSender() : new SesMailSender(SOURCE, TO);
+        long digestSeconds = digestSeconds(System.getenv("DEVOXX_FEEDBACK_DIGEST_SECONDS"));
+        if (digestSeconds > 0) {
+            sender = new DigestMailSender(sender, SUBJECT, TimeUnit.SECONDS.toMillis(digestSeconds), MAX_DIGEST_MAILS);
+        }
+        return sender;
+    }
+
+    /**
+     * Returns the digest window in seconds, or 0 to send every mail on its own when the value
+     * is not set, or is not a positive number.
+     */
+    static long digestSeconds(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return 0;
+        }
+        try {
+            long seconds = Long.parseLong(value.trim());
+            if (seconds > 0) {
+                return seconds;
+            }
+        } catch (NumberFormatException e) {
+            // logged below
+        }
+        LOG.log(Level.WARNING, "Ignoring DEVOXX_FEEDBACK_DIGEST_SECONDS=" + value + ", mails are sent without digest");
+        return 0;
+    }
+
+    // shared across warm invocations, so the SES client is only initialized once, and created
+    // on first use, so the environment isn't read when a sender is passed in
+    private static class DefaultSenderHolder {
+        private static final MailSender SENDER = createSender();
+    }
+
     public static void main(String[] args) {
         FeedbackMail input = new FeedbackMail("Abhinay Agarwal", "abhinay.agarwal@gluonhq.com","test email");
-        new FeedbackLambda().handleRequest(input, null);
+        new FeedbackLambda(new InMemoryMailSender()).handleRequest(input, null);
     }
 }
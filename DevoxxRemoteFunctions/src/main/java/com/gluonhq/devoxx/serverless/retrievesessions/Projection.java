@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.retrievesessions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The members of the slots that are returned for a profile. Each member that is kept has a
+ * projection for its own members, which also applies to the elements of an array member.
+ */
+final class Projection {
+
+    /**
+     * Keeps all members.
+     */
+    static final Projection ALL = new Projection("full", null);
+
+    private final String name;
+    private final Map<String, Projection> members;
+
+    private Projection(String name, Map<String, Projection> members) {
+        this.name = name;
+        this.members = members;
+    }
+
+    /**
+     * Returns the projection for the given profile: "list" returns what the schedule list needs,
+     * without summaries. Any other value, including null, returns the complete slots.
+     */
+    static Projection forProfile(String profile) {
+        return "list".equals(profile) ? LIST : ALL;
+    }
+
+    /**
+     * Returns the name of the profile, or null for the projection of a member.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the projection of the given member, or null if the member is not kept.
+     */
+    Projection member(String name) {
+        return members == null ? ALL : members.get(name);
+    }
+
+    private static Projection of(Object... nameAndProjections) {
+        return named(null, nameAndProjections);
+    }
+
+    private static Projection named(String name, Object... nameAndProjections) {
+        Map<String, Projection> members = new HashMap<>();
+        for (int i = 0; i < nameAndProjections.length; i += 2) {
+            members.put((String) nameAndProjections[i], (Projection) nameAndProjections[i + 1]);
+        }
+        return new Projection(name, Collections.unmodifiableMap(members));
+    }
+
+    private static final Projection LIST = named("list",
+            "slotId", ALL, "roomId", ALL, "roomName", ALL, "day", ALL,
+            "fromTime", ALL, "fromTimeMillis", ALL, "toTime", ALL, "toTimeMillis", ALL,
+            "talk", of(
+                    "id", ALL, "title", ALL, "talkType", ALL, "track", ALL, "trackId", ALL,
+                    "lang", ALL, "audienceLevel", ALL, "tags", ALL,
+                    "speakers", of(
+                            "name", ALL,
+                            "link", of("href", ALL))));
+}
@@ -31,25 +31,29 @@ import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
 import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
 
 public class SessionsLambda implements RequestStreamHandler {
 
+    private static final int BUFFER_SIZE = 8192;
+
     public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
         try (JsonReader reader = Json.createReader(input)) {
             JsonObject jsonInput = reader.readObject();
             String cfpEndpoint = jsonInput.getString("cfpEndpoint");
             String conferenceId = jsonInput.getString("conferenceId");
-            String jsonOutput = new SessionsRetriever().retrieve(cfpEndpoint, conferenceId);
-            try (Writer writer = new OutputStreamWriter(output)) {
-                writer.write(jsonOutput);
+            // optional: "list" for the slim schedule list profile, and "gzip" for a compressed response
+            String profile = jsonInput.getString("profile", null);
+            boolean gzip = "gzip".equals(jsonInput.getString("encoding", null));
+            try (OutputStream out = gzip ? new GZIPOutputStream(output, BUFFER_SIZE) : new BufferedOutputStream(output, BUFFER_SIZE)) {
+                new SessionsRetriever().retrieve(cfpEndpoint, conferenceId, profile, out);
             }
         }
     }
@@ -25,55 +25,467 @@
  */
 package com.gluonhq.devoxx.serverless.retrievesessions;
 
+import com.gluonhq.devoxx.serverless.cfp.CfpResources;
+import com.gluonhq.devoxx.serverless.cfp.CfpResources.CachedResource;
+import com.gluonhq.devoxx.serverless.cfp.HedgedRequests;
+import org.glassfish.jersey.client.ClientProperties;
+
 import javax.json.Json;
-import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
-import javax.json.JsonValue;
-import javax.ws.rs.WebApplicationException;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.core.Response;
+import javax.ws.rs.client.WebTarget;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+/**
+ * Retrieves the sessions of a conference from the CFP, as a JSON array of slots.
+ *
+ * The slots of each day are filtered, and optionally projected on the members that the
+ * schedule list needs, while the day response is parsed. They are kept as a
+ * serialized fragment. The output is written as soon as the fragment of the next day is
+ * available, so it never has to be assembled in memory as a whole.
+ *
+ * The fragments are cached per CFP endpoint and conference for as long as the container
+ * stays warm. After {@link #CACHE_TTL} the CFP resources are revalidated with conditional
+ * requests, and the cached fragments are served again when they didn't change. Concurrent
+ * requests for the same conference share a single fetch.
+ */
 public class SessionsRetriever {
 
     private static final Logger LOGGER = Logger.getLogger(SessionsRetriever.class.getName());
 
-    private static final Client client = ClientBuilder.newClient();
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+    private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(10);
+
+    private static final Client client = ClientBuilder.newClient()
+            .property(ClientProperties.CONNECT_TIMEOUT, CONNECT_TIMEOUT)
+            .property(ClientProperties.READ_TIMEOUT, READ_TIMEOUT);
+
+    // CFP resources with the validators to revalidate them, slow requests are hedged when
+    // DEVOXX_HEDGE_PERCENTILE is set
+    private static final CfpResources RESOURCES = new CfpResources(HedgedRequests.fromEnvironment());
+
+    // the days of a conference are fetched in parallel, with at most this many requests at a time
+    private static final int MAX_PARALLEL_DAYS = 4;
+    private static final ExecutorService DAY_EXECUTOR = Executors.newFixedThreadPool(MAX_PARALLEL_DAYS, runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName("DayRetriever");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // a generator is created for every slot, the factory keeps the provider lookup out of that loop
+    private static final JsonGeneratorFactory GENERATOR_FACTORY = Json.createGeneratorFactory(Collections.emptyMap());
+
+    private static final long CACHE_TTL = TimeUnit.MINUTES.toMillis(5);
+
+    // the CFP returns http day links for resources that are served over https, set
+    // DEVOXX_UPGRADE_DAY_LINKS to false to follow them as they are, e.g. on a plain http server
+    private static final boolean UPGRADE_DAY_LINKS = !"false".equalsIgnoreCase(System.getenv("DEVOXX_UPGRADE_DAY_LINKS"));
+
+    // sessions by cfp endpoint and conference, and the fetches that are running
+    private static final ConcurrentMap<String, CachedSessions> SESSIONS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CompletableFuture<CachedSessions>> IN_FLIGHT = new ConcurrentHashMap<>();
 
     public String retrieve(String cfpEndpoint, String conferenceId) throws IOException {
-        Response schedules = client.target(cfpEndpoint).path("conferences").path(conferenceId).path("schedules/")
-                .request().get();
-        if (schedules.getStatus() == Response.Status.OK.getStatusCode()) {
-            try (JsonReader schedulesReader = Json.createReader(new StringReader(schedules.readEntity(String.class)))) {
-                List<String> dayLinks = schedulesReader.readObject().getJsonArray("links").getValuesAs(JsonObject.class).stream()
-                        .filter(schedule -> schedule.containsKey("href"))
-                        .map(schedule -> schedule.getString("href").replaceFirst("http://", "https://"))
-                        .collect(Collectors.toList());
-
-                JsonArrayBuilder sessions = Json.createArrayBuilder();
-                for (String dayLink : dayLinks) {
-                    Response slots = client.target(dayLink).request().get();
-                    if (slots.getStatus() == Response.Status.OK.getStatusCode()) {
-                        try (JsonReader slotsReader = Json.createReader(new StringReader(slots.readEntity(String.class)))) {
-                            slotsReader.readObject().getJsonArray("slots").getValuesAs(JsonObject.class).stream()
-                                    .filter(slot -> slot.containsKey("talk") && slot.get("talk").getValueType() == JsonValue.ValueType.OBJECT)
-                                    .forEach(sessions::add);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        retrieve(cfpEndpoint, conferenceId, null, output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the sessions as UTF-8 encoded JSON to the given stream.
+     *
+     * @param profile "list" to only return the members that the schedule list needs, or null
+     *                to return the complete slots
+     */
+    public void retrieve(String cfpEndpoint, String conferenceId, String profile, OutputStream output) throws IOException {
+        retrieveSessions(cfpEndpoint, conferenceId, Projection.forProfile(profile), output);
+    }
+
+    /**
+     * Writes the complete talk with the given id as UTF-8 encoded JSON to the given stream.
+     * The talk is looked up in the complete slots, which are shared with the sessions of the
+     * full profile, so the details of a talk don't need a request to the CFP of their own.
+     *
+     * @throws IOException if the sessions can't be retrieved, or none of them has the talk
+     */
+    public void retrieveTalk(String cfpEndpoint, String conferenceId, String talkId, OutputStream output) throws IOException {
+        byte[] talk = retrieveSessions(cfpEndpoint, conferenceId, Projection.ALL, null).getTalk(talkId);
+        if (talk == null) {
+            throw new IOException("Talk " + talkId + " not found in the sessions of " + conferenceId);
+        }
+        output.write(talk);
+    }
+
+    /**
+     * Returns the sessions for the given projection, from the cache when they are fresh.
+     *
+     * @param output the stream to write the sessions to, or null
+     */
+    private CachedSessions retrieveSessions(String cfpEndpoint, String conferenceId, Projection projection, OutputStream output) throws IOException {
+        String key = cfpEndpoint + "|" + conferenceId + "|" + projection.getName();
+        CachedSessions cached = SESSIONS.get(key);
+        if (cached != null && cached.isFresh()) {
+            return cached.writeTo(output);
+        }
+
+        CompletableFuture<CachedSessions> fetch = new CompletableFuture<>();
+        CompletableFuture<CachedSessions> inFlight = IN_FLIGHT.putIfAbsent(key, fetch);
+        if (inFlight != null) {
+            return await(inFlight).writeTo(output);
+        }
+        try {
+            CachedSessions sessions = fetch(cfpEndpoint, conferenceId, projection, cached, output);
+            SESSIONS.put(key, sessions);
+            fetch.complete(sessions);
+            return sessions;
+        } catch (IOException | RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, fetch);
+        }
+    }
+
+    private CachedSessions fetch(String cfpEndpoint, String conferenceId, Projection projection, CachedSessions cached, OutputStream output) throws IOException {
+        WebTarget schedulesTarget = client.target(cfpEndpoint).path("conferences").path(conferenceId).path("schedules/");
+        CachedResource<List<String>> schedules;
+        try {
+            schedules = RESOURCES.get(schedulesTarget, SessionsRetriever::readDayLinks);
+        } catch (IOException | RuntimeException e) {
+            if (cached == null) {
+                throw e;
+            }
+            LOGGER.log(Level.WARNING, "Failed to revalidate sessions of " + conferenceId + ", serving cached sessions", e);
+            return cached.writeTo(output);
+        }
+
+        // fetch the days concurrently, but write their slots in the order of the schedules
+        List<CompletableFuture<CachedResource<byte[]>>> days = schedules.getValue().stream()
+                .map(dayLink -> CompletableFuture.supplyAsync(() -> retrieveSlots(dayLink, projection), DAY_EXECUTOR))
+                .collect(Collectors.toList());
+
+        List<byte[]> fragments = new ArrayList<>(days.size());
+        boolean first = true;
+        if (output != null) {
+            output.write('[');
+        }
+        for (int i = 0; i < days.size(); i++) {
+            CachedResource<byte[]> daySlots = days.get(i).join();
+            if (daySlots == null) {
+                // the request fails rather than returning sessions without that day, which
+                // clients would take as removed, and which the bundle would cache and hash
+                throw new IOException("Failed to retrieve day " + schedules.getValue().get(i) + " of " + conferenceId);
+            }
+            fragments.add(daySlots.getValue());
+            if (output != null && daySlots.getValue().length > 0) {
+                if (!first) {
+                    output.write(',');
+                }
+                output.write(daySlots.getValue());
+                output.flush();
+                first = false;
+            }
+        }
+        if (output != null) {
+            output.write(']');
+        }
+        return new CachedSessions(fragments);
+    }
+
+    /**
+     * Returns the serialized slots with a talk of the given day. When the day can't be
+     * retrieved, the cached slots are returned if there are any, and null otherwise, in which
+     * case the sessions can't be retrieved.
+     */
+    private CachedResource<byte[]> retrieveSlots(String dayLink, Projection projection) {
+        // the slots are cached separately for each projection
+        String cacheKey = dayLink + "#" + projection.getName();
+        try {
+            return RESOURCES.get(client.target(dayLink), cacheKey, input -> readTalkSlots(input, projection));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed processing link " + dayLink, e);
+            return RESOURCES.getCached(cacheKey);
+        }
+    }
+
+    private static List<String> readDayLinks(InputStream input) {
+        try (JsonReader schedulesReader = Json.createReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return schedulesReader.readObject().getJsonArray("links").getValuesAs(JsonObject.class).stream()
+                    .filter(schedule -> schedule.containsKey("href"))
+                    .map(schedule -> schedule.getString("href"))
+                    .map(href -> UPGRADE_DAY_LINKS ? href.replaceFirst("(?i)^http://", "https://") : href)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Copies the slots that have a talk from a day response, one slot at a time, into a
+     * comma separated fragment of a JSON array.
+     */
+    private static byte[] readTalkSlots(InputStream input, Projection projection) {
+        ByteArrayOutputStream fragment = new ByteArrayOutputStream();
+        try (JsonParser parser = Json.createParser(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            int depth = 0;
+            while (parser.hasNext()) {
+                JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.START_OBJECT || event == JsonParser.Event.START_ARRAY) {
+                    depth++;
+                } else if (event == JsonParser.Event.END_OBJECT || event == JsonParser.Event.END_ARRAY) {
+                    depth--;
+                } else if (event == JsonParser.Event.KEY_NAME && depth == 1 && "slots".equals(parser.getString())) {
+                    if (parser.next() != JsonParser.Event.START_ARRAY) {
+                        throw new JsonParsingException("Expected an array of slots", parser.getLocation());
+                    }
+                    copyTalkSlots(parser, projection, fragment);
+                    break;
+                }
+            }
+        }
+        return fragment.toByteArray();
+    }
+
+    private static void copyTalkSlots(JsonParser parser, Projection projection, ByteArrayOutputStream fragment) {
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (event != JsonParser.Event.START_OBJECT) {
+                continue;
+            }
+            StringWriter slot = new StringWriter();
+            boolean hasTalk;
+            try (JsonGenerator generator = GENERATOR_FACTORY.createGenerator(slot)) {
+                generator.writeStartObject();
+                hasTalk = copyMembers(parser, generator, projection);
+                generator.writeEnd();
+            }
+            if (hasTalk) {
+                if (fragment.size() > 0) {
+                    fragment.write(',');
+                }
+                byte[] bytes = slot.toString().getBytes(StandardCharsets.UTF_8);
+                fragment.write(bytes, 0, bytes.length);
+            }
+        }
+    }
+
+    /**
+     * Copies the members of the current object that are kept by the projection, up to the end
+     * of the object. Returns true if one of its members is a talk object.
+     */
+    private static boolean copyMembers(JsonParser parser, JsonGenerator generator, Projection projection) {
+        boolean hasTalk = false;
+        while (parser.next() == JsonParser.Event.KEY_NAME) {
+            String key = parser.getString();
+            JsonParser.Event event = parser.next();
+            if ("talk".equals(key) && event == JsonParser.Event.START_OBJECT) {
+                hasTalk = true;
+            }
+            Projection memberProjection = projection.member(key);
+            if (memberProjection == null) {
+                skipValue(parser, event);
+            } else {
+                copyValue(parser, generator, key, event, memberProjection);
+            }
+        }
+        return hasTalk;
+    }
+
+    /**
+     * Returns the serialized talks of the slots by their id. The members of each talk are
+     * copied while the slots are parsed, and its id is taken from them on the way.
+     */
+    private static Map<String, byte[]> indexTalks(InputStream input) {
+        Map<String, byte[]> talks = new HashMap<>();
+        try (JsonParser parser = Json.createParser(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            int depth = 0;
+            while (parser.hasNext()) {
+                JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.START_OBJECT || event == JsonParser.Event.START_ARRAY) {
+                    depth++;
+                } else if (event == JsonParser.Event.END_OBJECT || event == JsonParser.Event.END_ARRAY) {
+                    depth--;
+                } else if (event == JsonParser.Event.KEY_NAME && depth == 2 && "talk".equals(parser.getString())) {
+                    if (parser.next() != JsonParser.Event.START_OBJECT) {
+                        continue;
+                    }
+                    String id = null;
+                    StringWriter talk = new StringWriter();
+                    try (JsonGenerator generator = GENERATOR_FACTORY.createGenerator(talk)) {
+                        generator.writeStartObject();
+                        while (parser.next() == JsonParser.Event.KEY_NAME) {
+                            String key = parser.getString();
+                            JsonParser.Event value = parser.next();
+                            if ("id".equals(key) && value == JsonParser.Event.VALUE_STRING) {
+                                id = parser.getString();
+                            }
+                            copyValue(parser, generator, key, value, Projection.ALL);
                         }
-                    } else {
-                        LOGGER.log(Level.WARNING, "Failed processing link " + dayLink + ": " + slots.readEntity(String.class));
+                        generator.writeEnd();
+                    }
+                    if (id != null) {
+                        talks.put(id, talk.toString().getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+        return talks;
+    }
+
+    private static void skipValue(JsonParser parser, JsonParser.Event event) {
+        if (event != JsonParser.Event.START_OBJECT && event != JsonParser.Event.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            JsonParser.Event next = parser.next();
+            if (next == JsonParser.Event.START_OBJECT || next == JsonParser.Event.START_ARRAY) {
+                depth++;
+            } else if (next == JsonParser.Event.END_OBJECT || next == JsonParser.Event.END_ARRAY) {
+                depth--;
+            }
+        }
+    }
+
+    private static void copyValue(JsonParser parser, JsonGenerator generator, String key, JsonParser.Event event, Projection projection) {
+        switch (event) {
+            case START_OBJECT:
+                if (key == null) {
+                    generator.writeStartObject();
+                } else {
+                    generator.writeStartObject(key);
+                }
+                copyMembers(parser, generator, projection);
+                generator.writeEnd();
+                break;
+            case START_ARRAY:
+                if (key == null) {
+                    generator.writeStartArray();
+                } else {
+                    generator.writeStartArray(key);
+                }
+                JsonParser.Event element;
+                while ((element = parser.next()) != JsonParser.Event.END_ARRAY) {
+                    copyValue(parser, generator, null, element, projection);
+                }
+                generator.writeEnd();
+                break;
+            case VALUE_STRING:
+                if (key == null) {
+                    generator.write(parser.getString());
+                } else {
+                    generator.write(key, parser.getString());
+                }
+                break;
+            case VALUE_NUMBER:
+                if (key == null) {
+                    generator.write(parser.getBigDecimal());
+                } else {
+                    generator.write(key, parser.getBigDecimal());
+                }
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                if (key == null) {
+                    generator.write(event == JsonParser.Event.VALUE_TRUE);
+                } else {
+                    generator.write(key, event == JsonParser.Event.VALUE_TRUE);
+                }
+                break;
+            case VALUE_NULL:
+                if (key == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNull(key);
+                }
+                break;
+            default:
+                throw new JsonParsingException("Unexpected " + event, parser.getLocation());
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class CachedSessions {
+
+        private final List<byte[]> fragments;
+        private final long created = System.currentTimeMillis();
+        // the complete talks by id, indexed on the first talk lookup
+        private Map<String, byte[]> talks;
+
+        private CachedSessions(List<byte[]> fragments) {
+            this.fragments = fragments;
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() - created < CACHE_TTL;
+        }
+
+        private synchronized byte[] getTalk(String talkId) throws IOException {
+            if (talks == null) {
+                ByteArrayOutputStream slots = new ByteArrayOutputStream();
+                writeTo(slots);
+                talks = indexTalks(new ByteArrayInputStream(slots.toByteArray()));
+            }
+            return talks.get(talkId);
+        }
+
+        /**
+         * Writes the sessions to the given stream, if there is one, and returns them.
+         */
+        private CachedSessions writeTo(OutputStream output) throws IOException {
+            if (output == null) {
+                return this;
+            }
+            boolean first = true;
+            output.write('[');
+            for (byte[] fragment : fragments) {
+                if (fragment.length > 0) {
+                    if (!first) {
+                        output.write(',');
                     }
+                    output.write(fragment);
+                    first = false;
                 }
-                return sessions.build().toString();
             }
-        } else {
-            throw new IOException(new WebApplicationException(schedules));
+            output.write(']');
+            return this;
         }
     }
 }
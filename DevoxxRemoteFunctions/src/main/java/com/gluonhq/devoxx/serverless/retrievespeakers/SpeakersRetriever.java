@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.retrievespeakers;
+
+import com.gluonhq.devoxx.serverless.cfp.CfpResources;
+import com.gluonhq.devoxx.serverless.cfp.CfpResources.CachedResource;
+import com.gluonhq.devoxx.serverless.cfp.HedgedRequests;
+import org.glassfish.jersey.client.ClientProperties;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Retrieves the speakers of a conference from the CFP including their details, as a JSON
+ * array of speakers that matches the speaker model of the client.
+ *
+ * The details of the speakers are fetched concurrently. A speaker whose details can't be
+ * retrieved is returned with the summary of the speakers list, without accepted talks.
+ *
+ * Like the sessions, the speakers are cached per CFP endpoint and conference for as long as
+ * the container stays warm, and revalidated with conditional requests after
+ * {@link #CACHE_TTL}. Concurrent requests for the same conference share a single fetch.
+ */
+public class SpeakersRetriever {
+
+    private static final Logger LOGGER = Logger.getLogger(SpeakersRetriever.class.getName());
+
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+    private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(10);
+
+    private static final Client client = ClientBuilder.newClient()
+            .property(ClientProperties.CONNECT_TIMEOUT, CONNECT_TIMEOUT)
+            .property(ClientProperties.READ_TIMEOUT, READ_TIMEOUT);
+
+    // CFP resources with the validators to revalidate them, slow requests are hedged when
+    // DEVOXX_HEDGE_PERCENTILE is set
+    private static final CfpResources RESOURCES = new CfpResources(HedgedRequests.fromEnvironment());
+
+    // the details of the speakers are fetched in parallel, with at most this many requests at a time
+    private static final int MAX_PARALLEL_DETAILS = 8;
+    private static final ExecutorService DETAILS_EXECUTOR = Executors.newFixedThreadPool(MAX_PARALLEL_DETAILS, runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setName("SpeakerRetriever");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final long CACHE_TTL = TimeUnit.MINUTES.toMillis(5);
+
+    // speakers by cfp endpoint and conference, and the fetches that are running
+    private static final ConcurrentMap<String, CachedSpeakers> SPEAKERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CompletableFuture<CachedSpeakers>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the speakers with their details as UTF-8 encoded JSON to the given stream.
+     */
+    public void retrieve(String cfpEndpoint, String conferenceId, OutputStream output) throws IOException {
+        String key = cfpEndpoint + "|" + conferenceId;
+        CachedSpeakers cached = SPEAKERS.get(key);
+        if (cached != null && cached.isFresh()) {
+            output.write(cached.json);
+            return;
+        }
+
+        CompletableFuture<CachedSpeakers> fetch = new CompletableFuture<>();
+        CompletableFuture<CachedSpeakers> inFlight = IN_FLIGHT.putIfAbsent(key, fetch);
+        if (inFlight != null) {
+            output.write(await(inFlight).json);
+            return;
+        }
+        try {
+            CachedSpeakers speakers = fetch(cfpEndpoint, conferenceId, cached);
+            SPEAKERS.put(key, speakers);
+            fetch.complete(speakers);
+            output.write(speakers.json);
+        } catch (IOException | RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, fetch);
+        }
+    }
+
+    private CachedSpeakers fetch(String cfpEndpoint, String conferenceId, CachedSpeakers cached) throws IOException {
+        WebTarget speakersTarget = client.target(cfpEndpoint).path("conferences").path(conferenceId).path("speakers");
+        CachedResource<List<JsonObject>> speakers;
+        try {
+            speakers = RESOURCES.get(speakersTarget, SpeakersRetriever::readSpeakers);
+        } catch (IOException | RuntimeException e) {
+            if (cached == null) {
+                throw e;
+            }
+            LOGGER.log(Level.WARNING, "Failed to revalidate speakers of " + conferenceId + ", serving cached speakers", e);
+            return cached;
+        }
+
+        List<CompletableFuture<CachedResource<byte[]>>> details = speakers.getValue().stream()
+                .map(speaker -> CompletableFuture.supplyAsync(() -> retrieveDetails(speakersTarget, speaker), DETAILS_EXECUTOR))
+                .collect(Collectors.toList());
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        boolean complete = true;
+        json.write('[');
+        for (int i = 0; i < details.size(); i++) {
+            CachedResource<byte[]> speakerDetails = details.get(i).join();
+            byte[] speaker;
+            if (speakerDetails == null) {
+                JsonObject summary = speakers.getValue().get(i);
+                speaker = summary.toString().getBytes(StandardCharsets.UTF_8);
+                // a speaker without uuid has no details to retrieve, so the summary is all there is
+                if (summary.getString("uuid", null) != null) {
+                    complete = false;
+                }
+            } else {
+                speaker = speakerDetails.getValue();
+            }
+            if (i > 0) {
+                json.write(',');
+            }
+            json.write(speaker, 0, speaker.length);
+        }
+        json.write(']');
+        // speakers with missing details are not served from the cache without revalidation
+        return new CachedSpeakers(json.toByteArray(), complete);
+    }
+
+    /**
+     * Returns the serialized details of the given speaker. When they can't be retrieved, the
+     * cached details are returned if there are any, and null otherwise. Returns null for a
+     * speaker without uuid.
+     */
+    private CachedResource<byte[]> retrieveDetails(WebTarget speakersTarget, JsonObject speaker) {
+        String uuid = speaker.getString("uuid", null);
+        if (uuid == null) {
+            return null;
+        }
+        WebTarget detailsTarget = speakersTarget.path(uuid);
+        try {
+            return RESOURCES.get(detailsTarget, input -> {
+                try (JsonReader reader = Json.createReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                    return reader.readObject().toString().getBytes(StandardCharsets.UTF_8);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed retrieving details of speaker " + uuid, e);
+            return RESOURCES.getCached(detailsTarget.getUri().toString());
+        }
+    }
+
+    private static List<JsonObject> readSpeakers(InputStream input) {
+        try (JsonReader reader = Json.createReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return reader.readArray().getValuesAs(JsonObject.class);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class CachedSpeakers {
+
+        private final byte[] json;
+        private final boolean complete;
+        private final long created = System.currentTimeMillis();
+
+        private CachedSpeakers(byte[] json, boolean complete) {
+            this.json = json;
+            this.complete = complete;
+        }
+
+        private boolean isFresh() {
+            return complete && System.currentTimeMillis() - created < CACHE_TTL;
+        }
+    }
+}
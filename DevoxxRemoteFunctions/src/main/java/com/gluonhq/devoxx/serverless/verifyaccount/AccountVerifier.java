@@ -25,6 +25,8 @@
  */
 package com.gluonhq.devoxx.serverless.verifyaccount;
 
+import com.gluonhq.devoxx.serverless.cfp.CircuitBreaker;
+import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
 import org.glassfish.jersey.logging.LoggingFeature;
 import org.glassfish.jersey.media.multipart.FormDataMultiPart;
@@ -41,6 +43,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
 import java.io.StringReader;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,6 +53,20 @@ public class AccountVerifier {
 
     private static final Logger LOGGER = Logger.getLogger(AccountVerifier.class.getName());
 
+    private static final String DEVOXX_FR_HOST = "my.devoxx.fr";
+
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+    private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(15);
+
+    // payloads contain credentials and tokens, so they are only logged when explicitly enabled
+    private static final boolean LOG_PAYLOADS = Boolean.parseBoolean(System.getenv("DEVOXX_LOG_PAYLOADS"));
+
+    // clients are thread safe and shared across warm invocations, so connections are kept alive
+    private static final Client DEVOXX_FR_CLIENT = buildClient();
+    private static final Client REGULAR_CFP_CLIENT = buildClientRegularCfp();
+
+    private static final LatencyMetrics METRICS = new LatencyMetrics();
+
     public String verify(String cfpEndpoint, String email, String password) throws IOException {
         if (cfpEndpoint.contains("cfp.devoxx.fr")) {
             return verifyDevoxxFr(email, password);
@@ -63,11 +82,14 @@ public class AccountVerifier {
                 .add("rememberMe", false)
                 .build().toString();
 
-        Response accountVerification = buildClient().target("https://my.devoxx.fr").path("pwa").path("login")
-                .request()
-                .post(Entity.json(entity));
+        Response accountVerification = call(DEVOXX_FR_HOST + "/login", () ->
+                DEVOXX_FR_CLIENT.target("https://" + DEVOXX_FR_HOST).path("pwa").path("login")
+                        .request()
+                        .post(Entity.json(entity)));
         String response = accountVerification.readEntity(String.class);
-        LOGGER.log(Level.INFO, "Account Verification Response: {0}", response);
+        if (LOG_PAYLOADS) {
+            LOGGER.log(Level.INFO, "Account Verification Response: {0}", response);
+        }
         if (accountVerification.getStatus() == Response.Status.OK.getStatusCode()) {
             try (JsonReader reader = Json.createReader(new StringReader(response))) {
                 JsonObject token = reader.readObject();
@@ -82,12 +104,15 @@ public class AccountVerifier {
     }
 
     private String fetchUserProfileDevoxxFr(String token) throws IOException {
-        Response fetchUserProfile = buildClient().target("https://my.devoxx.fr").path("pwa").path("user")
-                .request()
-                .header("X-Auth-Token", token)
-                .get();
+        Response fetchUserProfile = call(DEVOXX_FR_HOST + "/user", () ->
+                DEVOXX_FR_CLIENT.target("https://" + DEVOXX_FR_HOST).path("pwa").path("user")
+                        .request()
+                        .header("X-Auth-Token", token)
+                        .get());
         String response = fetchUserProfile.readEntity(String.class);
-        LOGGER.log(Level.INFO, "FetchUserProfile Response: {0}", response);
+        if (LOG_PAYLOADS) {
+            LOGGER.log(Level.INFO, "FetchUserProfile Response: {0}", response);
+        }
         if (fetchUserProfile.getStatus() == Response.Status.OK.getStatusCode()) {
             try (JsonReader reader = Json.createReader(new StringReader(response))) {
                 JsonObject user = reader.readObject();
@@ -107,12 +132,15 @@ public class AccountVerifier {
         formDataMultiPart.field("email", email);
         formDataMultiPart.field("password", password);
 
-        Response accountVerification = buildClientRegularCfp().target(cfpEndpoint).path("account").path("credentials")
-                .request()
-                .header("X-Gluon", System.getenv("DEVOXX_CFP_X_GLUON_HEADER"))
-                .post(Entity.entity(formDataMultiPart, MediaType.MULTIPART_FORM_DATA_TYPE));
+        Response accountVerification = call(URI.create(cfpEndpoint).getHost() + "/credentials", () ->
+                REGULAR_CFP_CLIENT.target(cfpEndpoint).path("account").path("credentials")
+                        .request()
+                        .header("X-Gluon", System.getenv("DEVOXX_CFP_X_GLUON_HEADER"))
+                        .post(Entity.entity(formDataMultiPart, MediaType.MULTIPART_FORM_DATA_TYPE)));
         String response = accountVerification.readEntity(String.class);
-        LOGGER.log(Level.INFO, "Account Verification Response: {0}", response);
+        if (LOG_PAYLOADS) {
+            LOGGER.log(Level.INFO, "Account Verification Response: {0}", response);
+        }
         if (accountVerification.getStatus() == Response.Status.OK.getStatusCode()) {
             return "{\"identifier\":\"" + response + "\"}";
         } else if (accountVerification.getStatus() == Response.Status.BAD_REQUEST.getStatusCode()) {
@@ -122,12 +150,41 @@ public class AccountVerifier {
         }
     }
 
-    private Client buildClient() {
-        return ClientBuilder.newClient()
-                .register(new LoggingFeature(LOGGER, Level.INFO, LoggingFeature.Verbosity.PAYLOAD_ANY, 4096));
+    /**
+     * Sends a request through the circuit breaker of its host, and records its latency with the
+     * given endpoint key, "host/name". The entity of the response is buffered while the request
+     * is timed. Server errors and failed requests count as failures.
+     */
+    private static Response call(String endpoint, Supplier<Response> request) throws IOException {
+        CircuitBreaker breaker = CircuitBreaker.forEndpoint(endpoint.substring(0, endpoint.indexOf('/')));
+        breaker.acquire();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = request.get();
+            response.bufferEntity();
+        } catch (RuntimeException e) {
+            METRICS.record(endpoint, start, false);
+            breaker.record(false);
+            throw e;
+        }
+        boolean success = response.getStatus() < Response.Status.INTERNAL_SERVER_ERROR.getStatusCode();
+        METRICS.record(endpoint, start, success);
+        breaker.record(success);
+        return response;
+    }
+
+    private static Client buildClient() {
+        Client client = ClientBuilder.newClient()
+                .property(ClientProperties.CONNECT_TIMEOUT, CONNECT_TIMEOUT)
+                .property(ClientProperties.READ_TIMEOUT, READ_TIMEOUT);
+        if (LOG_PAYLOADS) {
+            client.register(new LoggingFeature(LOGGER, Level.INFO, LoggingFeature.Verbosity.PAYLOAD_ANY, 4096));
+        }
+        return client;
     }
 
-    private Client buildClientRegularCfp() {
+    private static Client buildClientRegularCfp() {
         return buildClient()
                 .register(MultiPartFeature.class)
                 .register(HttpAuthenticationFeature.basic(System.getenv("DEVOXX_CFP_USERNAME"),
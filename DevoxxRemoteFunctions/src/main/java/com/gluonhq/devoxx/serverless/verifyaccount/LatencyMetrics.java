@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.verifyaccount;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the number of calls, failures and the average and maximum latency per endpoint, for
+ * as long as the container stays warm. Every call is logged with the totals of its endpoint.
+ */
+class LatencyMetrics {
+
+    private static final Logger LOGGER = Logger.getLogger(LatencyMetrics.class.getName());
+
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Records a call to the given endpoint that started at the given {@link System#nanoTime()}.
+     */
+    void record(String endpoint, long startNanos, boolean success) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        Stats endpointStats = stats.computeIfAbsent(endpoint, key -> new Stats());
+        endpointStats.record(millis, success);
+        LOGGER.log(Level.INFO, "{0} took {1} ms ({2})", new Object[] {endpoint, millis, endpointStats});
+    }
+
+    private static class Stats {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        private void record(long millis, boolean success) {
+            calls.increment();
+            if (!success) {
+                failures.increment();
+            }
+            totalMillis.add(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            long count = calls.sum();
+            return "calls=" + count + ", failures=" + failures.sum() +
+                    ", avg=" + (count == 0 ? 0 : totalMillis.sum() / count) + " ms, max=" + maxMillis.get() + " ms";
+        }
+    }
+}
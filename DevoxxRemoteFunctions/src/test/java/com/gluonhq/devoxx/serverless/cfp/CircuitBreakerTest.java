@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.cfp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+
+    @Test
+    public void opensAfterConsecutiveFailures() throws CircuitOpenException {
+        CircuitBreaker breaker = CircuitBreaker.forEndpoint("opens.test");
+        for (int i = 0; i < 5; i++) {
+            breaker.acquire();
+            breaker.record(false);
+        }
+        try {
+            breaker.acquire();
+            fail("The circuit should be open");
+        } catch (CircuitOpenException e) {
+            assertTrue(breaker.toString().contains("OPEN"));
+        }
+    }
+
+    @Test
+    public void successResetsFailures() throws CircuitOpenException {
+        CircuitBreaker breaker = CircuitBreaker.forEndpoint("resets.test");
+        for (int i = 0; i < 4; i++) {
+            breaker.acquire();
+            breaker.record(false);
+        }
+        breaker.acquire();
+        breaker.record(true);
+        for (int i = 0; i < 4; i++) {
+            breaker.acquire();
+            breaker.record(false);
+        }
+        breaker.acquire();
+        breaker.record(true);
+        assertTrue(breaker.toString().contains("CLOSED"));
+    }
+
+    @Test
+    public void breakersAreSharedPerEndpoint() {
+        assertSame(CircuitBreaker.forEndpoint("shared.test"), CircuitBreaker.forEndpoint("shared.test"));
+        assertNotSame(CircuitBreaker.forEndpoint("shared.test"), CircuitBreaker.forEndpoint("other.test"));
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.cfp;
+
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HedgedRequestsTest {
+
+    @Test
+    public void sendsOnceWithoutPercentile() throws IOException {
+        HedgedRequests hedgedRequests = new HedgedRequests(0);
+        AtomicInteger requests = new AtomicInteger();
+        for (int i = 0; i < 30; i++) {
+            hedgedRequests.get("disabled.test", () -> {
+                requests.incrementAndGet();
+                return Response.ok().build();
+            });
+        }
+        assertEquals(30, requests.get());
+    }
+
+    @Test
+    public void hedgesSlowRequest() throws IOException {
+        HedgedRequests hedgedRequests = new HedgedRequests(50);
+        warmUp(hedgedRequests, "slow.test");
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger requests = new AtomicInteger();
+        long start = System.nanoTime();
+        Response response = hedgedRequests.get("slow.test", () -> {
+            if (requests.getAndIncrement() == 0) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Response.ok().build();
+            }
+            return Response.accepted().build();
+        });
+        release.countDown();
+
+        assertEquals(Response.Status.ACCEPTED.getStatusCode(), response.getStatus());
+        assertEquals(2, requests.get());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsWhenBothRequestsFail() throws IOException {
+        HedgedRequests hedgedRequests = new HedgedRequests(50);
+        warmUp(hedgedRequests, "failing.test");
+        hedgedRequests.get("failing.test", () -> {
+            throw new IllegalStateException("CFP unavailable");
+        });
+    }
+
+    // hedging starts once enough latencies of the endpoint have been recorded
+    private static void warmUp(HedgedRequests hedgedRequests, String endpoint) throws IOException {
+        for (int i = 0; i < 20; i++) {
+            hedgedRequests.get(endpoint, () -> Response.ok().build());
+        }
+    }
+}
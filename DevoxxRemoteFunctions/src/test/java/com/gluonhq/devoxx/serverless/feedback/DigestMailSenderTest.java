@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.feedback;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DigestMailSenderTest {
+
+    @Test
+    public void sendsDigestWithMaxMails() throws Exception {
+        InMemoryMailSender delegate = new InMemoryMailSender();
+        DigestMailSender sender = new DigestMailSender(delegate, "Digest", TimeUnit.MINUTES.toMillis(1), 3);
+        sender.send("Feedback", "first");
+        sender.send("Feedback", "second");
+        assertTrue(delegate.getMails().isEmpty());
+
+        sender.send("Feedback", "third");
+        List<String[]> mails = delegate.getMails();
+        assertEquals(1, mails.size());
+        assertEquals("Digest (3 messages)", mails.get(0)[0]);
+        assertTrue(mails.get(0)[1].contains("first"));
+        assertTrue(mails.get(0)[1].contains("second"));
+        assertTrue(mails.get(0)[1].contains("third"));
+    }
+
+    @Test
+    public void flushSendsSingleMailWithDigestSubject() throws Exception {
+        InMemoryMailSender delegate = new InMemoryMailSender();
+        DigestMailSender sender = new DigestMailSender(delegate, "Digest", TimeUnit.MINUTES.toMillis(1), 10);
+        sender.send("Feedback", "only");
+        sender.flush();
+
+        List<String[]> mails = delegate.getMails();
+        assertEquals(1, mails.size());
+        assertEquals("Digest", mails.get(0)[0]);
+        assertEquals("only", mails.get(0)[1]);
+
+        sender.flush();
+        assertEquals(1, delegate.getMails().size());
+    }
+
+    @Test
+    public void sendsDigestAfterWindow() throws Exception {
+        InMemoryMailSender delegate = new InMemoryMailSender();
+        DigestMailSender sender = new DigestMailSender(delegate, "Digest", 50, 10);
+        sender.send("Feedback", "first");
+        sender.send("Feedback", "second");
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (delegate.getMails().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, delegate.getMails().size());
+        assertEquals("Digest (2 messages)", delegate.getMails().get(0)[0]);
+    }
+
+    @Test
+    public void requeuesMailsWhenDigestFails() throws Exception {
+        InMemoryMailSender delivered = new InMemoryMailSender();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        MailSender delegate = (subject, text) -> {
+            if (failing.get()) {
+                throw new Exception("SES unavailable");
+            }
+            delivered.send(subject, text);
+        };
+        DigestMailSender sender = new DigestMailSender(delegate, "Digest", TimeUnit.MINUTES.toMillis(1), 2);
+        sender.send("Feedback", "first");
+        try {
+            sender.send("Feedback", "second");
+            fail("The delegate should have failed");
+        } catch (Exception e) {
+            assertEquals("SES unavailable", e.getMessage());
+        }
+
+        failing.set(false);
+        sender.send("Feedback", "third");
+        List<String[]> mails = delivered.getMails();
+        assertEquals(1, mails.size());
+        assertEquals("Digest (3 messages)", mails.get(0)[0]);
+        String text = mails.get(0)[1];
+        assertTrue(text.indexOf("first") < text.indexOf("second"));
+        assertTrue(text.indexOf("second") < text.indexOf("third"));
+    }
+
+    @Test
+    public void defersSending() {
+        assertTrue(new DigestMailSender(new InMemoryMailSender(), "Digest", 1000, 10).defersSending());
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2016, Gluon Software
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the
+ * following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation and/or other materials provided
+ *    with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse
+ *    or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ * INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.devoxx.serverless.retrievesessions;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ProjectionTest {
+
+    @Test
+    public void otherProfilesKeepEverything() {
+        assertSame(Projection.ALL, Projection.forProfile(null));
+        assertSame(Projection.ALL, Projection.forProfile("full"));
+        assertSame(Projection.ALL, Projection.ALL.member("summary"));
+        assertEquals("full", Projection.ALL.getName());
+    }
+
+    @Test
+    public void listProfileKeepsScheduleMembers() {
+        Projection list = Projection.forProfile("list");
+        assertEquals("list", list.getName());
+        assertSame(Projection.ALL, list.member("slotId"));
+        assertSame(Projection.ALL, list.member("fromTimeMillis"));
+
+        Projection talk = list.member("talk");
+        assertNotNull(talk);
+        assertNull(talk.getName());
+        assertSame(Projection.ALL, talk.member("title"));
+        // search ranks and suggests the tags of every talk
+        assertSame(Projection.ALL, talk.member("tags"));
+        assertNotNull(talk.member("speakers").member("link").member("href"));
+    }
+
+    @Test
+    public void listProfileDropsDetails() {
+        Projection list = Projection.forProfile("list");
+        assertNull(list.member("notAllocated"));
+        assertNull(list.member("talk").member("summary"));
+        assertNull(list.member("talk").member("summaryAsHtml"));
+        assertNull(list.member("talk").member("speakers").member("link").member("rel"));
+    }
+}